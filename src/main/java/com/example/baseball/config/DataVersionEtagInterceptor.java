@@ -0,0 +1,49 @@
+package com.example.baseball.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.baseball.service.DataVersionService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 画面APIのGETリクエストにデータ更新バージョンから作成したETagとCache-Controlを付与する
+ * If-None-Match が現在のETagと一致する場合は、コントローラーを呼び出さずに304を返す。
+ * データはスクレイパーの取り込み完了時にしか変わらないため、同じバージョンの間はレスポンスも変わらない。
+ */
+@Component
+public class DataVersionEtagInterceptor implements HandlerInterceptor {
+
+	// ブラウザ・CDNが再検証せずに使用してよい秒数
+	@Value("${baseball.http-cache.max-age-seconds:60}")
+	private long maxAgeSeconds;
+
+	// デプロイごとにETagを変えるための値（レスポンスの形式が変わる場合があるため）
+	@Value("${baseball.http-cache.etag-salt:${HEROKU_RELEASE_VERSION:local}}")
+	private String etagSalt;
+
+	@Autowired
+	private DataVersionService dataVersionService;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (!HttpMethod.GET.matches(request.getMethod())) {
+			return true;
+		}
+		String etag = "\"" + dataVersionService.getVersion() + "-" + etagSalt + "\"";
+		response.setHeader(HttpHeaders.CACHE_CONTROL,
+				CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic().mustRevalidate().getHeaderValue());
+		// 一致した場合は304を設定してtrueを返す（ETagヘッダーもここで設定される）
+		return !new ServletWebRequest(request, response).checkNotModified(etag);
+	}
+}
@@ -0,0 +1,19 @@
+package com.example.baseball.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class HttpCacheConfig implements WebMvcConfigurer {
+
+	@Autowired
+	private DataVersionEtagInterceptor dataVersionEtagInterceptor;
+
+	// 画面APIのレスポンスにETagを付与する
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(dataVersionEtagInterceptor).addPathPatterns("/baseball/api/**");
+	}
+}
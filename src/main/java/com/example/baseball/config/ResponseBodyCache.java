@@ -0,0 +1,135 @@
+package com.example.baseball.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.baseball.event.DataVersionChangedEvent;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * 画面APIのシリアライズ済みレスポンスを保持する（合計バイト数と件数で上限を設けたLRU）
+ * 合計バイト数にはキー（リクエストのパスとパラメータ）の大きさも含める。
+ * データが更新された場合（DataVersionChangedEvent）は全件破棄する。
+ */
+@Component
+public class ResponseBodyCache {
+
+	// gzip済みのボディも保持する最小サイズ（これ未満は圧縮しても効果が小さい）
+	private static final int GZIP_MIN_BYTES = 1024;
+
+	// 保持するレスポンスの合計バイト数の上限
+	@Value("${baseball.response-cache.max-bytes:33554432}")
+	private long maxBytes;
+	// 保持するレスポンスの件数の上限
+	@Value("${baseball.response-cache.max-entries:10000}")
+	private int maxEntries;
+
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+	private long totalBytes;
+
+	/**
+	 * レスポンスを取得する
+	 * @param key 正規化したリクエスト
+	 * @param version 現在のデータ更新バージョン
+	 * @return レスポンス（保持していない、またはバージョンが異なる場合はnull）
+	 */
+	public synchronized Entry get(String key, long version) {
+		Entry entry = entries.get(key);
+		if (entry == null || entry.getVersion() != version) {
+			return null;
+		}
+		return entry;
+	}
+
+	/**
+	 * レスポンスを保持する。上限を超えた場合は最も古く参照されたものから破棄する。
+	 */
+	public void put(String key, long version, int status, String contentType, String etag, String cacheControl,
+			byte[] body) {
+		Entry entry = new Entry(key, version, status, contentType, etag, cacheControl, body,
+				body.length >= GZIP_MIN_BYTES ? gzip(body) : null);
+		if (entry.getSize() > maxBytes) {
+			return;
+		}
+		synchronized (this) {
+			Entry previous = entries.put(key, entry);
+			if (previous != null) {
+				totalBytes -= previous.getSize();
+			}
+			totalBytes += entry.getSize();
+			Iterator<Entry> iterator = entries.values().iterator();
+			while ((totalBytes > maxBytes || entries.size() > maxEntries) && iterator.hasNext()) {
+				totalBytes -= iterator.next().getSize();
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * 保持しているレスポンスを全件破棄する
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		totalBytes = 0;
+	}
+
+	@EventListener
+	public void onDataVersionChanged(DataVersionChangedEvent event) {
+		clear();
+	}
+
+	private static byte[] gzip(byte[] body) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * 保持しているレスポンス（不変）
+	 */
+	@Getter
+	public static final class Entry {
+		private final long version;
+		private final int status;
+		private final String contentType;
+		private final String etag;
+		private final String cacheControl;
+		private final byte[] body;
+		// gzip済みのボディ（小さいレスポンスはnull）
+		private final byte[] gzipBody;
+		// キーを含めた大きさ（バイト数）
+		@Getter(AccessLevel.NONE)
+		private final long size;
+
+		private Entry(String key, long version, int status, String contentType, String etag, String cacheControl, byte[] body,
+				byte[] gzipBody) {
+			this.version = version;
+			this.status = status;
+			this.contentType = contentType;
+			this.etag = etag;
+			this.cacheControl = cacheControl;
+			this.body = body;
+			this.gzipBody = gzipBody;
+			// キーは文字列（1文字2バイト）として保持する
+			this.size = key.length() * 2L + body.length + (gzipBody == null ? 0 : gzipBody.length);
+		}
+
+		long getSize() {
+			return size;
+		}
+	}
+}
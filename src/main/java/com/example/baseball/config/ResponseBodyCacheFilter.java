@@ -0,0 +1,240 @@
+package com.example.baseball.config;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.RequestPath;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import com.example.baseball.service.DataVersionService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 画面APIのGETレスポンスをシリアライズ済みのバイト列で保持し、同じリクエストにはそのまま書き込む
+ * キーはパスと正規化したパラメータ（名前順、空の値は除外）。パラメータはハンドラーが受け取るもののみを使用し、
+ * それ以外のパラメータ（任意の値を付けたもの等）でキーが増えないようにする。ハンドラーのないパスは保持しない。
+ * 保持するのは正常応答（200）と対象データなし（404）のみで、入力エラー等は保持しない。
+ * ETag・Cache-Control は保持時のもの（DataVersionEtagInterceptor が付与したもの）を返す。
+ * gzip済みのボディを返す場合は、Content-Encoding の異なる表現のため ETag の末尾に -gzip を付けたものを返す。
+ */
+@Component
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+
+	private static final String API_PATH = "/baseball/api/";
+	// gzip済みのボディを返す場合にETagに付ける値
+	private static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+	@Value("${baseball.response-cache.enabled:true}")
+	private boolean enabled;
+
+	@Autowired
+	private ResponseBodyCache responseBodyCache;
+	@Autowired
+	private DataVersionService dataVersionService;
+	@Autowired
+	@Qualifier("requestMappingHandlerMapping")
+	private RequestMappingHandlerMapping handlerMapping;
+
+	// ハンドラーごとの受け取るパラメータ名
+	private final Map<HandlerMethod, Set<String>> parameterNamesByHandler = new ConcurrentHashMap<>();
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled || !HttpMethod.GET.matches(request.getMethod())
+				|| !request.getRequestURI().startsWith(request.getContextPath() + API_PATH);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Set<String> parameterNames = boundParameterNames(request);
+		if (parameterNames == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		// 保持したレスポンスは Accept-Encoding によって gzip で返すため、保持前の応答にも付与する
+		response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		String key = toKey(request, parameterNames);
+		long version = dataVersionService.getVersion();
+		ResponseBodyCache.Entry entry = responseBodyCache.get(key, version);
+		if (entry != null) {
+			write(request, response, entry);
+			return;
+		}
+
+		ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+		filterChain.doFilter(request, responseWrapper);
+		int status = responseWrapper.getStatus();
+		if (status == HttpStatus.OK.value() || status == HttpStatus.NOT_FOUND.value()) {
+			responseBodyCache.put(key, version, status, responseWrapper.getContentType(),
+					responseWrapper.getHeader(HttpHeaders.ETAG), responseWrapper.getHeader(HttpHeaders.CACHE_CONTROL),
+					responseWrapper.getContentAsByteArray());
+		}
+		responseWrapper.copyBodyToResponse();
+	}
+
+	/**
+	 * 保持しているレスポンスを書き込む（If-None-Match が一致する場合は304）
+	 * If-None-Match は gzip・非圧縮のどちらのETagでも一致とし、304には一致した方のETagを付ける。
+	 */
+	private void write(HttpServletRequest request, HttpServletResponse response, ResponseBodyCache.Entry entry)
+			throws IOException {
+		if (entry.getCacheControl() != null) {
+			response.setHeader(HttpHeaders.CACHE_CONTROL, entry.getCacheControl());
+		}
+		boolean gzip = entry.getGzipBody() != null && acceptsGzip(request);
+		if (entry.getEtag() != null) {
+			String etag = gzip ? toGzipEtag(entry.getEtag()) : entry.getEtag();
+			String otherEtag = gzip ? entry.getEtag() : toGzipEtag(entry.getEtag());
+			if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+				return;
+			}
+			// 一致しない場合も返す表現のETagは設定済み（もう一方の表現のETagで一致した場合はそのETagで304を返す）
+			if (matchesIfNoneMatch(request, otherEtag)) {
+				response.setHeader(HttpHeaders.ETAG, otherEtag);
+				response.setStatus(HttpStatus.NOT_MODIFIED.value());
+				return;
+			}
+		}
+		response.setStatus(entry.getStatus());
+		if (entry.getContentType() != null) {
+			response.setContentType(entry.getContentType());
+		}
+		byte[] body = entry.getBody();
+		if (gzip) {
+			body = entry.getGzipBody();
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+
+	/**
+	 * gzip済みのボディのETag（"..." の閉じる引用符の前に -gzip を付ける）
+	 */
+	private static String toGzipEtag(String etag) {
+		return etag.endsWith("\"")
+				? etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\""
+				: etag + GZIP_ETAG_SUFFIX;
+	}
+
+	/**
+	 * If-None-Match に指定したETagが含まれるか（弱い比較、W/ の有無は区別しない）
+	 */
+	private static boolean matchesIfNoneMatch(HttpServletRequest request, String etag) {
+		String opaqueTag = etag.startsWith("W/") ? etag.substring(2) : etag;
+		for (Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH); headers.hasMoreElements();) {
+			for (String candidate : headers.nextElement().split(",")) {
+				candidate = candidate.trim();
+				if (candidate.startsWith("W/")) {
+					candidate = candidate.substring(2);
+				}
+				if (candidate.equals(opaqueTag)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean acceptsGzip(HttpServletRequest request) {
+		String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+	}
+
+	/**
+	 * リクエストのハンドラーが受け取るパラメータ名を取得する
+	 * @return パラメータ名（ハンドラーがない場合はnull）
+	 */
+	private Set<String> boundParameterNames(HttpServletRequest request) throws ServletException {
+		HandlerExecutionChain chain;
+		// DispatcherServlet より前のため、ハンドラーの検索に使うパスをここで解析する（検索後は元に戻す）
+		RequestPath previousPath = ServletRequestPathUtils.hasParsedRequestPath(request)
+				? ServletRequestPathUtils.getParsedRequestPath(request) : null;
+		ServletRequestPathUtils.parseAndCache(request);
+		try {
+			chain = handlerMapping.getHandler(request);
+		} catch (Exception e) {
+			throw new ServletException(e);
+		} finally {
+			ServletRequestPathUtils.setParsedRequestPath(previousPath, request);
+		}
+		if (chain == null || !(chain.getHandler() instanceof HandlerMethod handlerMethod)) {
+			return null;
+		}
+		return parameterNamesByHandler.computeIfAbsent(handlerMethod, ResponseBodyCacheFilter::parameterNamesOf);
+	}
+
+	/**
+	 * ハンドラーの引数から受け取るパラメータ名を求める
+	 * （@RequestParam の名前と、リクエストDTOのプロパティ名）
+	 */
+	private static Set<String> parameterNamesOf(HandlerMethod handlerMethod) {
+		Set<String> names = new TreeSet<>();
+		for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+			RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+			Class<?> type = parameter.getParameterType();
+			if (requestParam != null) {
+				String name = requestParam.name().isEmpty() ? parameter.getParameterName() : requestParam.name();
+				if (name != null) {
+					names.add(name);
+				}
+			} else if (!BeanUtils.isSimpleProperty(type) && !type.getName().startsWith("jakarta.servlet.")) {
+				for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(type)) {
+					if (property.getWriteMethod() != null) {
+						names.add(property.getName());
+					}
+				}
+			}
+		}
+		return Collections.unmodifiableSet(names);
+	}
+
+	/**
+	 * パスと正規化したパラメータからキーを作成する
+	 * @param parameterNames キーに含めるパラメータ名
+	 */
+	static String toKey(HttpServletRequest request, Set<String> parameterNames) {
+		Map<String, String> parameters = new TreeMap<>();
+		request.getParameterMap().forEach((name, values) -> {
+			if (parameterNames.contains(name)
+					&& values.length > 0 && values[0] != null && !values[0].trim().isEmpty()) {
+				parameters.put(name, values[0]);
+			}
+		});
+		StringBuilder key = new StringBuilder(request.getRequestURI());
+		char separator = '?';
+		for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+			key.append(separator).append(parameter.getKey()).append('=').append(parameter.getValue());
+			separator = '&';
+		}
+		return key.toString();
+	}
+}
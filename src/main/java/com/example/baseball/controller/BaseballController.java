@@ -1,6 +1,10 @@
 package com.example.baseball.controller;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,17 +14,29 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.baseball.dto.GetPlayerListRequest;
+import com.example.baseball.dto.LeaderboardRequest;
 import com.example.baseball.dto.MatchResultSearchRequest;
+import com.example.baseball.dto.MatchupMatrixRequest;
+import com.example.baseball.dto.PitchHeatmapRequest;
 import com.example.baseball.dto.ResponseDto;
+import com.example.baseball.dto.SplitsRequest;
+import com.example.baseball.dto.VelocityDistributionRequest;
 import com.example.baseball.entity.BaseballTeam;
 import com.example.baseball.entity.MatchResult;
+import com.example.baseball.entity.PitchHeatmap;
 import com.example.baseball.entity.PlayerProjection;
-import com.example.baseball.entity.VAtBatGameDetails;
-import com.example.baseball.service.AtBatStatisticsService;
+import com.example.baseball.entity.SplitResult;
+import com.example.baseball.entity.VelocityDistribution;
+import com.example.baseball.entity.VenueSplit;
 import com.example.baseball.service.BaseballGameService;
 import com.example.baseball.service.BaseballTeamService;
-import com.example.baseball.service.VAtBatGameDetailsService;
-import com.example.baseball.service.VBaseballPlayerHistoryService;
+import com.example.baseball.service.HandednessSplitService;
+import com.example.baseball.service.LeaderboardMetric;
+import com.example.baseball.service.LeaderboardService;
+import com.example.baseball.service.MatchResultSearchService;
+import com.example.baseball.service.PitchResultService;
+import com.example.baseball.service.RosterIndexService;
+import com.example.baseball.service.VenueSplitService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -33,12 +49,23 @@ public class BaseballController {
 	private static final String NO_PITCHERS_FOUND = "ピッチャーの取得に失敗しました";
 	private static final String NO_BATTERS_FOUND = "バッターの取得に失敗しました";
 	private static final String NO_MATCH_RESULT = "対戦結果がありませんでした。";
+	private static final String INVALID_DATE = "期間の日付が正しくありません。";
+	private static final String INVALID_DATE_RANGE = "期間の開始日は終了日以前の日付を指定してください。";
+	private static final String NO_PLAYER_SPECIFIED = "投手または打者を指定してください。";
+	private static final String NO_PITCH_RESULT = "投球データがありませんでした。";
+	// ランキングの初期値
+	private static final String DEFAULT_METRIC = "OPS";
+	private static final int DEFAULT_MIN_PA = 10;
+	private static final int DEFAULT_LIMIT = 10;
 
 	private final BaseballTeamService baseballTeamService;
-	private final VBaseballPlayerHistoryService vBaseballPlayerHistoryService;
-	private final VAtBatGameDetailsService vAtBatGameDetailsService;
+	private final RosterIndexService rosterIndexService;
 	private final BaseballGameService baseballGameService;
-	private final AtBatStatisticsService atBatStatisticsService;
+	private final MatchResultSearchService matchResultSearchService;
+	private final HandednessSplitService handednessSplitService;
+	private final VenueSplitService venueSplitService;
+	private final LeaderboardService leaderboardService;
+	private final PitchResultService pitchResultService;
 
 	/**
 	 * 初期表示データ（チーム一覧、年度一覧）を取得する
@@ -69,7 +96,7 @@ public class BaseballController {
 	    long teamId = Long.parseLong(request.getTeamId());
 	    String year = request.getYear();
 
-	    List<PlayerProjection> pitcherList = vBaseballPlayerHistoryService.findPitcherByTeamIdAndYear(teamId, "1", year);
+	    List<PlayerProjection> pitcherList = rosterIndexService.findPitcherByTeamIdAndYear(teamId, "1", year);
 	    if (pitcherList.isEmpty()) {
 	        return ResponseEntity.status(HttpStatus.NOT_FOUND)
 	                .body(ResponseDto.builder().message(NO_PITCHERS_FOUND).build());
@@ -93,7 +120,7 @@ public class BaseballController {
 	    long teamId = Long.parseLong(request.getTeamId());
 	    String year = request.getYear();
 
-	    List<PlayerProjection> batterList = vBaseballPlayerHistoryService.findBatterByTeamIdAndYear(teamId, year);
+	    List<PlayerProjection> batterList = rosterIndexService.findBatterByTeamIdAndYear(teamId, year);
 	    if (batterList.isEmpty()) {
 	        return ResponseEntity.status(HttpStatus.NOT_FOUND)
 	                .body(ResponseDto.builder().message(NO_BATTERS_FOUND).build());
@@ -113,6 +140,8 @@ public class BaseballController {
 	 * @param pitcherId
 	 * @param batterId
 	 * @param selectedYear
+	 * @param fromDate 期間の開始日（yyyy-MM-dd、任意）
+	 * @param toDate 期間の終了日（yyyy-MM-dd、任意）
 	 * @return 対戦成績リスト
 	 */
 	 @GetMapping("/matchResultSearch")
@@ -122,17 +151,28 @@ public class BaseballController {
 	        Long pitcherId = parseLongOrNull(request.getPitcherId());
 	        Long batterId = parseLongOrNull(request.getBatterId());
 	        String selectedYear = request.getSelectedYear();
+	        LocalDate fromDate;
+	        LocalDate toDate;
+	        try {
+	            fromDate = parseDateOrNull(request.getFromDate());
+	            toDate = parseDateOrNull(request.getToDate());
+	        } catch (DateTimeParseException e) {
+	            return ResponseEntity.badRequest()
+	                    .body(ResponseDto.builder().message(INVALID_DATE).build());
+	        }
+	        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+	            return ResponseEntity.badRequest()
+	                    .body(ResponseDto.builder().message(INVALID_DATE_RANGE).build());
+	        }
 
-	        List<VAtBatGameDetails> atBatResult = vAtBatGameDetailsService.findByBatterAndPitcher(
-	                pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear);
+	        List<MatchResult> atBatResultList = matchResultSearchService.search(
+	                pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear, fromDate, toDate);
 
-	        if (atBatResult.isEmpty()) {
+	        if (atBatResultList.isEmpty()) {
 	            return ResponseEntity.status(HttpStatus.NOT_FOUND)
 	                    .body(ResponseDto.builder().message(NO_MATCH_RESULT).build());
 	        }
 
-	        List<MatchResult> atBatResultList = atBatStatisticsService.retrieveAtBatResults(atBatResult, pitcherId, batterId);
-
 	        ResponseDto response = ResponseDto.builder()
 	                .data("matchResult", atBatResultList)
 	                .message("Success")
@@ -141,6 +181,190 @@ public class BaseballController {
 	        return ResponseEntity.ok(response);
 	    }
 
+	/**
+	 * 打者リスト×投手リストの対戦表を取得
+	 * @param batterIds カンマ区切りの打者ID
+	 * @param pitcherIds カンマ区切りの投手ID
+	 * @param selectedYear
+	 * @return 対戦成績リスト（打者リストの順、同じ打者の中は投手リストの順。対戦がない組み合わせは含まない）
+	 */
+	    @GetMapping("/matchupMatrix")
+	    public ResponseEntity<ResponseDto> matchupMatrix(@Validated MatchupMatrixRequest request) {
+	        List<Long> batterIds = parseLongList(request.getBatterIds());
+	        List<Long> pitcherIds = parseLongList(request.getPitcherIds());
+
+	        List<MatchResult> matchupMatrix = matchResultSearchService.searchMatrix(
+	                batterIds, pitcherIds, request.getSelectedYear());
+
+	        if (matchupMatrix.isEmpty()) {
+	            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+	                    .body(ResponseDto.builder().message(NO_MATCH_RESULT).build());
+	        }
+
+	        ResponseDto response = ResponseDto.builder()
+	                .data("matchupMatrix", matchupMatrix)
+	                .message("Success")
+	                .build();
+
+	        return ResponseEntity.ok(response);
+	    }
+
+	/**
+	 * 選手の左右別成績を取得
+	 * @param playerId
+	 * @param selectedYear
+	 * @return 左右別成績リスト（打者として: 対右投手・対左投手、投手として: 対右打者・対左打者・対両打者）
+	 */
+    @GetMapping("/splits")
+    public ResponseEntity<ResponseDto> splits(@Validated SplitsRequest request) {
+        List<SplitResult> splitList = handednessSplitService.findSplits(
+                Long.parseLong(request.getPlayerId()), request.getSelectedYear());
+
+        if (splitList.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ResponseDto.builder().message(NO_MATCH_RESULT).build());
+        }
+
+        ResponseDto response = ResponseDto.builder()
+                .data("splits", splitList)
+                .message("Success")
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+	/**
+	 * 選手の本拠地/ビジター別・球場別成績を取得
+	 * @param playerId
+	 * @param selectedYear
+	 * @return 本拠地/ビジター別成績リストおよび球場別成績リスト
+	 */
+    @GetMapping("/venueSplits")
+    public ResponseEntity<ResponseDto> venueSplits(@Validated SplitsRequest request) {
+        Map<String, List<SplitResult>> splitsByType = venueSplitService.findSplits(
+                Long.parseLong(request.getPlayerId()), request.getSelectedYear());
+        List<SplitResult> homeAwayList = splitsByType.get(VenueSplit.TYPE_HOME_AWAY);
+        List<SplitResult> stadiumList = splitsByType.get(VenueSplit.TYPE_STADIUM);
+
+        if (homeAwayList.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ResponseDto.builder().message(NO_MATCH_RESULT).build());
+        }
+
+        ResponseDto response = ResponseDto.builder()
+                .data("homeAway", homeAwayList)
+                .data("stadiums", stadiumList)
+                .message("Success")
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+	/**
+	 * 対戦成績のランキングを取得
+	 * @param rank 順位をつける側（batter / pitcher）
+	 * @param metric 指標（AVG / OBP / SLG / OPS / K）
+	 * @param order 並び順（desc / asc）
+	 * @param minPa 最低打席数
+	 * @param limit 取得件数
+	 * @return 順位順の対戦成績リスト
+	 */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<ResponseDto> leaderboard(@Validated LeaderboardRequest request) {
+        String metric = request.getMetric() == null || request.getMetric().isEmpty()
+                ? DEFAULT_METRIC : request.getMetric();
+        Long minPa = parseLongOrNull(request.getMinPa());
+        Long limit = parseLongOrNull(request.getLimit());
+
+        List<MatchResult> leaderboard = leaderboardService.findLeaders(
+                parseLongOrNull(request.getPitcherTeamId()), parseLongOrNull(request.getBatterTeamId()),
+                parseLongOrNull(request.getPitcherId()), parseLongOrNull(request.getBatterId()),
+                request.getSelectedYear(), "pitcher".equals(request.getRank()), LeaderboardMetric.valueOf(metric),
+                "asc".equals(request.getOrder()),
+                minPa == null ? DEFAULT_MIN_PA : minPa.intValue(), limit == null ? DEFAULT_LIMIT : limit.intValue());
+
+        if (leaderboard.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ResponseDto.builder().message(NO_MATCH_RESULT).build());
+        }
+
+        ResponseDto response = ResponseDto.builder()
+                .data("leaderboard", leaderboard)
+                .message("Success")
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+	/**
+	 * 投手ごと・打者ごと・対戦ごとのコース別（5×5）・球種別の投球数を取得
+	 * @param pitcherId
+	 * @param batterId
+	 * @param selectedYear
+	 * @return コース別・球種別の投球数
+	 */
+    @GetMapping("/pitchHeatmap")
+    public ResponseEntity<ResponseDto> pitchHeatmap(@Validated PitchHeatmapRequest request) {
+        Long pitcherId = parseLongOrNull(request.getPitcherId());
+        Long batterId = parseLongOrNull(request.getBatterId());
+        if (pitcherId == null && batterId == null) {
+            return ResponseEntity.badRequest()
+                    .body(ResponseDto.builder().message(NO_PLAYER_SPECIFIED).build());
+        }
+
+        PitchHeatmap heatmap = pitchResultService.findHeatmap(pitcherId, batterId, request.getSelectedYear());
+        if (heatmap == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ResponseDto.builder().message(NO_PITCH_RESULT).build());
+        }
+
+        ResponseDto response = ResponseDto.builder()
+                .data("pitchHeatmap", heatmap)
+                .message("Success")
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+	/**
+	 * 投手の球種ごとの球速分布を取得
+	 * @param pitcherId
+	 * @param selectedYear
+	 * @return 球速分布リスト（先頭は全球種の合計）
+	 */
+    @GetMapping("/velocityDistribution")
+    public ResponseEntity<ResponseDto> velocityDistribution(@Validated VelocityDistributionRequest request) {
+        List<VelocityDistribution> distributions = pitchResultService.findVelocityDistribution(
+                Long.parseLong(request.getPitcherId()), request.getSelectedYear());
+
+        if (distributions.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ResponseDto.builder().message(NO_PITCH_RESULT).build());
+        }
+
+        ResponseDto response = ResponseDto.builder()
+                .data("velocityDistribution", distributions)
+                .message("Success")
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    private List<Long> parseLongList(String value) {
+	        List<Long> values = new ArrayList<>();
+	        for (String element : value.split(",")) {
+	            values.add(Long.parseLong(element));
+	        }
+	        return values;
+	    }
+
+	    private LocalDate parseDateOrNull(String value) {
+	        if (value == null || value.trim().isEmpty()) {
+	            return null;
+	        }
+	        return LocalDate.parse(value);
+	    }
+
 	    private Long parseLongOrNull(String value) {
 	        if (value == null || value.trim().isEmpty()) {
 	            return null;
@@ -0,0 +1,50 @@
+package com.example.baseball.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class LeaderboardRequest {
+
+    // 絞り込み条件（いずれも任意。matchResultSearch と同じ）
+    @Pattern(regexp = "(\\d{1,2})?", message = "pitcherTeamIdは2桁以下の数値で入力してください")
+    private String pitcherTeamId;
+
+    @Pattern(regexp = "(\\d{1,2})?", message = "batterTeamIdは2桁以下の数値で入力してください")
+    private String batterTeamId;
+
+    @Pattern(regexp = "(\\d{1,5})?", message = "pitcherIdは5桁以下の数値で入力してください")
+    private String pitcherId;
+
+    @Pattern(regexp = "(\\d{1,5})?", message = "batterIdは5桁以下の数値で入力してください")
+    private String batterId;
+
+    @Size(max = 4, message = "selectedYearは4桁以下で入力してください")
+    @Pattern(regexp = "(\\d{4}|通算)?", message = "selectedYearは4桁の年度または通算を指定してください")
+    private String selectedYear;
+
+    // 順位をつける側（batter: 打者ごと / pitcher: 投手ごと）
+    @NotBlank(message = "rankは必須です")
+    @Pattern(regexp = "batter|pitcher", message = "rankはbatterまたはpitcherを指定してください")
+    private String rank;
+
+    // 指標（AVG: 打率 / OBP: 出塁率 / SLG: 長打率 / OPS / K: 三振率）
+    @Pattern(regexp = "(AVG|OBP|SLG|OPS|K)?", message = "metricはAVG、OBP、SLG、OPS、Kのいずれかを指定してください")
+    private String metric;
+
+    // 並び順（desc: 大きい順 / asc: 小さい順）
+    @Pattern(regexp = "(asc|desc)?", message = "orderはascまたはdescを指定してください")
+    private String order;
+
+    // 最低打席数（未指定の場合は10）
+    @Pattern(regexp = "(\\d{1,3})?", message = "minPaは3桁以下の数値で入力してください")
+    private String minPa;
+
+    // 取得件数（未指定の場合は10、最大100）
+    @Pattern(regexp = "(100|[1-9]\\d?)?", message = "limitは1から100の数値で入力してください")
+    private String limit;
+}
@@ -33,8 +33,16 @@ public class MatchResultSearchRequest {
 
     // selectedYearも任意。指定された場合4桁以下
     @Size(max = 4, message = "selectedYearは4桁以下で入力してください", groups = OptionalCheck.class)
+    @Pattern(regexp = "(\\d{4}|通算)?", message = "selectedYearは4桁の年度または通算を指定してください")
     private String selectedYear;
 
+    // 期間（yyyy-MM-dd）。任意で、年度と両方指定した場合は重なる期間のみ
+    @Pattern(regexp = "(\\d{4}-\\d{2}-\\d{2})?", message = "fromDateはyyyy-MM-dd形式で入力してください")
+    private String fromDate;
+
+    @Pattern(regexp = "(\\d{4}-\\d{2}-\\d{2})?", message = "toDateはyyyy-MM-dd形式で入力してください")
+    private String toDate;
+
     // 任意項目のバリデーションを分けたい場合、groupsを使う
     // ここではOptionalCheck groupを定義し、値がnullや空でなければチェックするといった応用が可能
     public interface OptionalCheck {}
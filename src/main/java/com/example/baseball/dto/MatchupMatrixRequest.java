@@ -0,0 +1,26 @@
+package com.example.baseball.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class MatchupMatrixRequest {
+
+    // カンマ区切りの打者ID（5桁以下の数値、最大30人）
+    @NotBlank(message = "batterIdsは必須です")
+    @Pattern(regexp = "\\d{1,5}(,\\d{1,5}){0,29}", message = "batterIdsは5桁以下の数値をカンマ区切りで30件以内で入力してください")
+    private String batterIds;
+
+    // カンマ区切りの投手ID（5桁以下の数値、最大30人）
+    @NotBlank(message = "pitcherIdsは必須です")
+    @Pattern(regexp = "\\d{1,5}(,\\d{1,5}){0,29}", message = "pitcherIdsは5桁以下の数値をカンマ区切りで30件以内で入力してください")
+    private String pitcherIds;
+
+    @Size(max = 4, message = "selectedYearは4桁以下で入力してください")
+    @Pattern(regexp = "(\\d{4}|通算)?", message = "selectedYearは4桁の年度または通算を指定してください")
+    private String selectedYear;
+}
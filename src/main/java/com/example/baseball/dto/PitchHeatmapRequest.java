@@ -0,0 +1,22 @@
+package com.example.baseball.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PitchHeatmapRequest {
+
+    // 投手ID・打者IDは任意だが、どちらか一方は必要（両方指定した場合は対戦ごと）
+    @Pattern(regexp = "(\\d{1,5})?", message = "pitcherIdは5桁以下の数値で入力してください")
+    private String pitcherId;
+
+    @Pattern(regexp = "(\\d{1,5})?", message = "batterIdは5桁以下の数値で入力してください")
+    private String batterId;
+
+    @Size(max = 4, message = "selectedYearは4桁以下で入力してください")
+    @Pattern(regexp = "(\\d{4}|通算)?", message = "selectedYearは4桁の年度または通算を指定してください")
+    private String selectedYear;
+}
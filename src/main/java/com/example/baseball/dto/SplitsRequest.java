@@ -0,0 +1,20 @@
+package com.example.baseball.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SplitsRequest {
+
+    @NotBlank(message = "playerIdは必須です")
+    @Pattern(regexp = "\\d{1,5}", message = "playerIdは5桁以下の数値で入力してください")
+    private String playerId;
+
+    @Size(max = 4, message = "selectedYearは4桁以下で入力してください")
+    @Pattern(regexp = "(\\d{4}|通算)?", message = "selectedYearは4桁の年度または通算を指定してください")
+    private String selectedYear;
+}
@@ -34,4 +34,8 @@ public class AtBatResult {
     
     @Column(name = "RESULT") 
     private String result;
+    
+    /** 打席結果の分類コード（AtBatOutcome） */
+    @Column(name = "RESULT_CD") 
+    private Integer resultCd;
 }
@@ -0,0 +1,18 @@
+package com.example.baseball.entity;
+
+import java.util.Date;
+
+/**
+ * 打席結果の集計に必要な列のみのプロジェクションインターフェース
+ * 選手名・チーム名等は含めず、IDのみを返す。
+ */
+public interface AtBatRowProjection {
+    Long getAtBatId();
+    Long getPitcherId();
+    Long getBatterId();
+    Long getPitcherTeamId();
+    Long getBatterTeamId();
+    Date getGameDate();
+    Integer getResultCd();
+    String getResult();
+}
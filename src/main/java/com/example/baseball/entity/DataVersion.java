@@ -0,0 +1,31 @@
+package com.example.baseball.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * データ更新バージョン（1行のみ）
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "DATA_VERSION")
+public class DataVersion {
+	@Id
+	@Column(name = "DATA_VERSION_ID")
+	private Integer dataVersionId;
+
+	@Column(name = "VERSION_NO")
+	private Long versionNo;
+
+	@Column(name = "UPDATED_AT")
+	private LocalDateTime updatedAt;
+}
@@ -0,0 +1,70 @@
+package com.example.baseball.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 左右別成績の集計
+ * 選手・年度・立場・相手の投打ごとに打席結果の件数を保持する。
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "HANDEDNESS_SPLIT")
+@IdClass(HandednessSplit.Key.class)
+public class HandednessSplit {
+
+    // 打者として
+    public static final String ROLE_BATTER = "B";
+    // 投手として
+    public static final String ROLE_PITCHER = "P";
+    // 相手の投打が登録されていない場合
+    public static final String HAND_UNKNOWN = "9";
+
+    @Id
+    @Column(name = "PLAYER_ID")
+    private Long playerId;
+
+    // 年度（試合日の年）
+    @Id
+    @Column(name = "SEASON")
+    private Integer season;
+
+    // 立場（B: 打者として / P: 投手として）
+    @Id
+    @Column(name = "ROLE")
+    private String role;
+
+    // 相手の投打（打者の場合は相手投手の THROWER、投手の場合は相手打者の HANDED）
+    @Id
+    @Column(name = "OPPONENT_HAND")
+    private String opponentHand;
+
+    @Embedded
+    private StatLine statLine;
+
+    /**
+     * 集計キー（選手ID、年度、立場、相手の投打）
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long playerId;
+        private Integer season;
+        private String role;
+        private String opponentHand;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.baseball.entity;
+
+/**
+ * 左右別成績の検索結果のプロジェクションインターフェース
+ * 通算の場合は年度をまたいで立場・相手の投打ごとに合算済み。
+ */
+public interface HandednessSplitProjection extends StatLineProjection {
+    String getRole();
+    String getOpponentHand();
+}
@@ -2,6 +2,8 @@ package com.example.baseball.entity;
 
 import java.math.BigDecimal;
 
+import com.example.baseball.util.BaseballUtil;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +12,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor  // デフォルトコンストラクターの自動生成
 @AllArgsConstructor // 全フィールドに対する初期化値を引数に取るコンストラクタを自動生成
 public class MatchResult {
+    // 打者ID
+    private Long batterId;
     // 打者
     private String batterNm;
     // 打者のNPB URL
@@ -18,6 +22,8 @@ public class MatchResult {
     private Long batterTeamId;
     // 打者チーム
     private String batterTeamNm;
+    // 投手ID
+    private Long pitcherId;
     // 投手
     private String pitcherNm;
     // 投手のNPB URL
@@ -26,8 +32,6 @@ public class MatchResult {
     private Long pitcherTeamId;
     // 投手チーム
     private String pitcherTeamNm;
-    // 打率
-    private BigDecimal battingAverage;
     // 打席数
     private int atBatNumber;
     // 打数
@@ -52,10 +56,34 @@ public class MatchResult {
     private int sacrificeFly;
     // 三振数
     private int strikeoutsNumber;
-    // OPS
-    private BigDecimal ops;
-    // 出塁率
-    private BigDecimal onBasePercentage;
-    // 長打率
-    private BigDecimal sluggingPercentage;
-}
\ No newline at end of file
+
+    // 打率・出塁率・長打率・OPSは件数から導出し、JSON出力時にのみ計算する
+
+    /**
+     * 打率
+     */
+    public BigDecimal getBattingAverage() {
+        return BaseballUtil.calculateBattingAverage(hitNumber, strokesNumber);
+    }
+
+    /**
+     * 出塁率
+     */
+    public BigDecimal getOnBasePercentage() {
+        return BaseballUtil.calculateOnBasePercentage(hitNumber + fourBallNumber + hitBallNumber, atBatNumber);
+    }
+
+    /**
+     * 長打率
+     */
+    public BigDecimal getSluggingPercentage() {
+        return BaseballUtil.calculateSluggingPercentage(baseHitsNumber, strokesNumber);
+    }
+
+    /**
+     * OPS
+     */
+    public BigDecimal getOps() {
+        return BaseballUtil.calculateOps(getOnBasePercentage(), getSluggingPercentage());
+    }
+}
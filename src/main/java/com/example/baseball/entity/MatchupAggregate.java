@@ -0,0 +1,66 @@
+package com.example.baseball.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 投手VS打者の対戦成績集計
+ * 投手・打者・年度・所属チームの組み合わせごとに打席結果の件数を保持する。
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "MATCHUP_AGGREGATE")
+@IdClass(MatchupAggregate.Key.class)
+public class MatchupAggregate {
+
+    @Id
+    @Column(name = "PITCHER_ID")
+    private Long pitcherId;
+
+    @Id
+    @Column(name = "BATTER_ID")
+    private Long batterId;
+
+    // 年度（試合日の年）
+    @Id
+    @Column(name = "SEASON")
+    private Integer season;
+
+    @Id
+    @Column(name = "PITCHER_TEAM_ID")
+    private Long pitcherTeamId;
+
+    @Id
+    @Column(name = "BATTER_TEAM_ID")
+    private Long batterTeamId;
+
+    @Embedded
+    private StatLine statLine;
+
+    /**
+     * 集計キー（投手ID、打者ID、年度、投手チームID、打者チームID）
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long pitcherId;
+        private Long batterId;
+        private Integer season;
+        private Long pitcherTeamId;
+        private Long batterTeamId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.baseball.entity;
+
+/**
+ * 対戦成績集計の検索結果のプロジェクションインターフェース
+ * 年度をまたぐ集計値は投手・打者・所属チームの組み合わせごとに合算済み。
+ */
+public interface MatchupAggregateProjection extends StatLineProjection {
+    Long getPitcherId();
+    String getPitcherNm();
+    String getPitcherNpbUrl();
+    Long getPitcherTeamId();
+    String getPitcherTeamShortNm();
+    Long getBatterId();
+    String getBatterNm();
+    String getBatterNpbUrl();
+    Long getBatterTeamId();
+    String getBatterTeamShortNm();
+}
@@ -0,0 +1,10 @@
+package com.example.baseball.entity;
+
+/**
+ * 対戦のあった投手・打者・年度の組み合わせのプロジェクションインターフェース
+ */
+public interface MatchupSeasonProjection {
+    Long getPitcherId();
+    Long getBatterId();
+    Integer getSeason();
+}
@@ -0,0 +1,46 @@
+package com.example.baseball.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 投球のコース別（5×5）・球種別の投球数
+ * コースは打者目線で左上を1、右下を25とする番号（PITCH_RESULT.COURSE）で、
+ * zoneCounts[COURSE - 1] にその投球数を保持する。コース不明（-1など）の投球は unknownCourse に数える。
+ */
+@Data
+@NoArgsConstructor
+public class PitchHeatmap {
+    // コースの数（5×5）
+    public static final int ZONES = 25;
+
+    // 投球数
+    private int totalPitches;
+    // コース別の投球数
+    private int[] zoneCounts = new int[ZONES];
+    // コース不明の投球数
+    private int unknownCourse;
+    // 球種別（投球数の多い順）
+    private List<PitchTypeZones> pitchTypes = new ArrayList<>();
+
+    /**
+     * 球種ごとのコース別の投球数
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PitchTypeZones {
+        // 球種
+        private String pitchType;
+        // 投球数
+        private int pitchCount;
+        // コース別の投球数
+        private int[] zoneCounts;
+        // コース不明の投球数
+        private int unknownCourse;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.baseball.entity;
+
+/**
+ * 球種・コースごとの投球数のプロジェクションインターフェース
+ */
+public interface PitchZoneCountProjection {
+    String getPitchType();
+    Integer getCourse();
+    Long getPitchCount();
+}
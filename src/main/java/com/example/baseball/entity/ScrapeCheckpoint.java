@@ -0,0 +1,46 @@
+package com.example.baseball.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * スクレイパーの進捗（スクレイパーごとに1行）
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "SCRAPE_CHECKPOINT")
+public class ScrapeCheckpoint {
+	// NPBWebScraper
+	public static final String SCRAPER_NPB = "NPB";
+	// YahooPitchScraper
+	public static final String SCRAPER_YAHOO = "YAHOO";
+
+	@Id
+	@Column(name = "SCRAPER_NM")
+	private String scraperNm;
+
+	// 最後に処理した試合日
+	@Column(name = "LAST_DATE")
+	private LocalDate lastDate;
+
+	// LAST_DATE の試合で取り込みが完了した最後の試合（NULL の場合は LAST_DATE の全試合が完了）
+	@Column(name = "LAST_GAME")
+	private String lastGame;
+
+	// LAST_GAME の次の試合で取り込みを中断した打席のindex（Yahoo!のみ、調査用）
+	@Column(name = "LAST_INDEX")
+	private String lastIndex;
+
+	@Column(name = "UPDATED_AT")
+	private LocalDateTime updatedAt;
+}
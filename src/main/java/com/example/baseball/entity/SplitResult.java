@@ -0,0 +1,100 @@
+package com.example.baseball.entity;
+
+import java.math.BigDecimal;
+
+import com.example.baseball.util.BaseballUtil;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 分類別成績（左右別など）の画面返却用
+ * 打率等の率は件数から導出し、JSON出力時にのみ計算する。
+ */
+@Data
+@NoArgsConstructor
+public class SplitResult {
+    // 立場（B: 打者として / P: 投手として）
+    private String role;
+    // 分類コード
+    private String splitCd;
+    // 分類名
+    private String splitNm;
+    // 打席数
+    private int atBatNumber;
+    // 打数
+    private int strokesNumber;
+    // ヒット数
+    private int hitNumber;
+    // 二塁打数
+    private int doublesNumber;
+    // 三塁打数
+    private int triplesNumber;
+    // 本塁打数
+    private int homeRun;
+    // 塁打数
+    private int baseHitsNumber;
+    // 四球数
+    private int fourBallNumber;
+    // 死球数
+    private int hitBallNumber;
+    // 犠飛数
+    private int sacrificeFly;
+    // 三振数
+    private int strikeoutsNumber;
+
+    /**
+     * 集計値から作成する
+     * @param role 立場
+     * @param splitCd 分類コード
+     * @param splitNm 分類名
+     * @param statLine 集計値
+     * @return 分類別成績
+     */
+    public static SplitResult of(String role, String splitCd, String splitNm, StatLine statLine) {
+        SplitResult splitResult = new SplitResult();
+        splitResult.setRole(role);
+        splitResult.setSplitCd(splitCd);
+        splitResult.setSplitNm(splitNm);
+        splitResult.setAtBatNumber(statLine.getAtBatNumber());
+        splitResult.setStrokesNumber(statLine.getStrokesNumber());
+        splitResult.setHitNumber(statLine.getHitNumber());
+        splitResult.setDoublesNumber(statLine.getDoublesNumber());
+        splitResult.setTriplesNumber(statLine.getTriplesNumber());
+        splitResult.setHomeRun(statLine.getHomeRun());
+        splitResult.setBaseHitsNumber(statLine.getBaseHitsNumber());
+        splitResult.setFourBallNumber(statLine.getFourBallNumber());
+        splitResult.setHitBallNumber(statLine.getHitBallNumber());
+        splitResult.setSacrificeFly(statLine.getSacrificeFly());
+        splitResult.setStrikeoutsNumber(statLine.getStrikeoutsNumber());
+        return splitResult;
+    }
+
+    /**
+     * 打率
+     */
+    public BigDecimal getBattingAverage() {
+        return BaseballUtil.calculateBattingAverage(hitNumber, strokesNumber);
+    }
+
+    /**
+     * 出塁率
+     */
+    public BigDecimal getOnBasePercentage() {
+        return BaseballUtil.calculateOnBasePercentage(hitNumber + fourBallNumber + hitBallNumber, atBatNumber);
+    }
+
+    /**
+     * 長打率
+     */
+    public BigDecimal getSluggingPercentage() {
+        return BaseballUtil.calculateSluggingPercentage(baseHitsNumber, strokesNumber);
+    }
+
+    /**
+     * OPS
+     */
+    public BigDecimal getOps() {
+        return BaseballUtil.calculateOps(getOnBasePercentage(), getSluggingPercentage());
+    }
+}
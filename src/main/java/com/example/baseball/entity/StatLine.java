@@ -0,0 +1,155 @@
+package com.example.baseball.entity;
+
+import com.example.baseball.util.AtBatOutcome;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 打席結果の集計値
+ * 打席結果の分類ごとの件数のみを保持し、打数・ヒット数などはそこから導出する。
+ * 1打席ずつの加算と、集計値同士のマージはどちらも定数時間で行える。
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+public class StatLine {
+    // 単打数
+    @Column(name = "SINGLES_NUMBER")
+    private int singlesNumber;
+    // 二塁打数
+    @Column(name = "DOUBLES_NUMBER")
+    private int doublesNumber;
+    // 三塁打数
+    @Column(name = "TRIPLES_NUMBER")
+    private int triplesNumber;
+    // 本塁打数
+    @Column(name = "HOME_RUN")
+    private int homeRun;
+    // 四球数
+    @Column(name = "FOUR_BALL_NUMBER")
+    private int fourBallNumber;
+    // 死球数
+    @Column(name = "HIT_BALL_NUMBER")
+    private int hitBallNumber;
+    // 犠打数
+    @Column(name = "SACRIFICE_HIT")
+    private int sacrificeHit;
+    // 犠飛数
+    @Column(name = "SACRIFICE_FLY")
+    private int sacrificeFly;
+    // 三振数
+    @Column(name = "STRIKEOUTS_NUMBER")
+    private int strikeoutsNumber;
+    // 凡退数
+    @Column(name = "OUT_NUMBER")
+    private int outNumber;
+
+    /**
+     * 1打席分の結果を加算する
+     * @param outcome 打席結果の分類
+     * @return 自身
+     */
+    public StatLine add(AtBatOutcome outcome) {
+        return add(outcome, 1);
+    }
+
+    /**
+     * 同じ分類の打席結果を指定件数分加算する
+     * @param outcome 打席結果の分類
+     * @param count 件数
+     * @return 自身
+     */
+    public StatLine add(AtBatOutcome outcome, int count) {
+        switch (outcome) {
+        case SINGLE:
+            singlesNumber += count;
+            break;
+        case DOUBLE:
+            doublesNumber += count;
+            break;
+        case TRIPLE:
+            triplesNumber += count;
+            break;
+        case HOME_RUN:
+            homeRun += count;
+            break;
+        case FOUR_BALL:
+            fourBallNumber += count;
+            break;
+        case HIT_BALL:
+            hitBallNumber += count;
+            break;
+        case SACRIFICE_HIT:
+            sacrificeHit += count;
+            break;
+        case SACRIFICE_FLY:
+            sacrificeFly += count;
+            break;
+        case STRIKEOUT:
+            strikeoutsNumber += count;
+            break;
+        default:
+            outNumber += count;
+            break;
+        }
+        return this;
+    }
+
+    /**
+     * 別の集計値を加算する
+     * @param other 加算する集計値
+     * @return 自身
+     */
+    public StatLine merge(StatLine other) {
+        singlesNumber += other.singlesNumber;
+        doublesNumber += other.doublesNumber;
+        triplesNumber += other.triplesNumber;
+        homeRun += other.homeRun;
+        fourBallNumber += other.fourBallNumber;
+        hitBallNumber += other.hitBallNumber;
+        sacrificeHit += other.sacrificeHit;
+        sacrificeFly += other.sacrificeFly;
+        strikeoutsNumber += other.strikeoutsNumber;
+        outNumber += other.outNumber;
+        return this;
+    }
+
+    /**
+     * 打席数
+     */
+    public int getAtBatNumber() {
+        return getHitNumber() + fourBallNumber + hitBallNumber + sacrificeHit + sacrificeFly
+                + strikeoutsNumber + outNumber;
+    }
+
+    /**
+     * 打数（四死球、犠打、犠飛を除く）
+     */
+    public int getStrokesNumber() {
+        return getHitNumber() + strikeoutsNumber + outNumber;
+    }
+
+    /**
+     * ヒット数
+     */
+    public int getHitNumber() {
+        return singlesNumber + doublesNumber + triplesNumber + homeRun;
+    }
+
+    /**
+     * 塁打数
+     */
+    public int getBaseHitsNumber() {
+        return singlesNumber + doublesNumber * 2 + triplesNumber * 3 + homeRun * 4;
+    }
+
+    /**
+     * 出塁数（ヒット＋四死球）
+     */
+    public int getOnBaseNumber() {
+        return getHitNumber() + fourBallNumber + hitBallNumber;
+    }
+}
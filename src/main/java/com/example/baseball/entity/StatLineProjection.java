@@ -0,0 +1,36 @@
+package com.example.baseball.entity;
+
+/**
+ * 打席結果の分類別件数のプロジェクションインターフェース
+ * 集計テーブル（MATCHUP_AGGREGATE、HANDEDNESS_SPLIT など）の検索結果で共通して使用する。
+ */
+public interface StatLineProjection {
+    int getSinglesNumber();
+    int getDoublesNumber();
+    int getTriplesNumber();
+    int getHomeRun();
+    int getFourBallNumber();
+    int getHitBallNumber();
+    int getSacrificeHit();
+    int getSacrificeFly();
+    int getStrikeoutsNumber();
+    int getOutNumber();
+
+    /**
+     * 集計値に変換する
+     */
+    default StatLine toStatLine() {
+        StatLine statLine = new StatLine();
+        statLine.setSinglesNumber(getSinglesNumber());
+        statLine.setDoublesNumber(getDoublesNumber());
+        statLine.setTriplesNumber(getTriplesNumber());
+        statLine.setHomeRun(getHomeRun());
+        statLine.setFourBallNumber(getFourBallNumber());
+        statLine.setHitBallNumber(getHitBallNumber());
+        statLine.setSacrificeHit(getSacrificeHit());
+        statLine.setSacrificeFly(getSacrificeFly());
+        statLine.setStrikeoutsNumber(getStrikeoutsNumber());
+        statLine.setOutNumber(getOutNumber());
+        return statLine;
+    }
+}
@@ -80,4 +80,7 @@ public class VAtBatGameDetails {
 
     @Column(name = "RESULT")
     private String result;
+
+    @Column(name = "RESULT_CD")
+    private Integer resultCd;
 }
\ No newline at end of file
@@ -26,6 +26,9 @@ public class VBaseballPlayerHistory {
     @Column(name = "PLAYER_NM")
     private String playerNm;
 
+    @Column(name = "PLAYER_NM_KANA")
+    private String playerNmKana;
+
     @Column(name = "POSITION")
     private String position;
 
@@ -0,0 +1,11 @@
+package com.example.baseball.entity;
+
+/**
+ * 球種・球速ごとの投球数のプロジェクションインターフェース
+ * 通算の場合は年度をまたいで合算済み。
+ */
+public interface VelocityBucketProjection {
+    String getPitchType();
+    Integer getSpeed();
+    Long getPitchCount();
+}
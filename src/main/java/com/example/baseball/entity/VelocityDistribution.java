@@ -0,0 +1,31 @@
+package com.example.baseball.entity;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 球種ごとの球速分布（画面返却用）
+ * counts[i] は球速 minSpeed + i km/h の投球数。
+ */
+@Data
+@NoArgsConstructor
+public class VelocityDistribution {
+    // 球種（全球種の合計は"全球種"）
+    private String pitchType;
+    // 投球数
+    private int pitchCount;
+    // 平均球速
+    private BigDecimal averageSpeed;
+    // 球速の中央値
+    private int medianSpeed;
+    // 球速の90パーセンタイル
+    private int p90Speed;
+    // 最高球速
+    private int maxSpeed;
+    // 最低球速
+    private int minSpeed;
+    // 1km/h 刻みの投球数（最低球速から最高球速まで）
+    private int[] counts;
+}
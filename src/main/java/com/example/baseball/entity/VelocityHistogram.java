@@ -0,0 +1,61 @@
+package com.example.baseball.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 球速分布の集計
+ * 投手・年度・球種・球速（1km/h 刻み）ごとの投球数を保持する。
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "VELOCITY_HISTOGRAM")
+@IdClass(VelocityHistogram.Key.class)
+public class VelocityHistogram {
+
+    @Id
+    @Column(name = "PITCHER_ID")
+    private Long pitcherId;
+
+    // 年度（試合日の年）
+    @Id
+    @Column(name = "SEASON")
+    private Integer season;
+
+    @Id
+    @Column(name = "PITCH_TYPE")
+    private String pitchType;
+
+    // 球速（km/h）
+    @Id
+    @Column(name = "SPEED")
+    private Integer speed;
+
+    @Column(name = "PITCH_COUNT")
+    private Integer pitchCount;
+
+    /**
+     * 集計キー（投手ID、年度、球種、球速）
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long pitcherId;
+        private Integer season;
+        private String pitchType;
+        private Integer speed;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.baseball.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 本拠地/ビジター別・球場別成績の集計
+ * 選手・年度・立場・分類ごとに打席結果の件数を保持する。
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "VENUE_SPLIT")
+@IdClass(VenueSplit.Key.class)
+public class VenueSplit {
+
+    // 本拠地/ビジター別
+    public static final String TYPE_HOME_AWAY = "H";
+    // 球場別
+    public static final String TYPE_STADIUM = "S";
+    // 本拠地
+    public static final String HOME = "H";
+    // ビジター
+    public static final String AWAY = "A";
+
+    @Id
+    @Column(name = "PLAYER_ID")
+    private Long playerId;
+
+    // 年度（試合日の年）
+    @Id
+    @Column(name = "SEASON")
+    private Integer season;
+
+    // 立場（B: 打者として / P: 投手として）
+    @Id
+    @Column(name = "ROLE")
+    private String role;
+
+    // 分類の種類（H: 本拠地/ビジター別 / S: 球場別）
+    @Id
+    @Column(name = "SPLIT_TYPE")
+    private String splitType;
+
+    // 分類コード（本拠地/ビジター別は H / A、球場別は球場名）
+    @Id
+    @Column(name = "SPLIT_CD")
+    private String splitCd;
+
+    @Embedded
+    private StatLine statLine;
+
+    /**
+     * 集計キー（選手ID、年度、立場、分類の種類、分類コード）
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long playerId;
+        private Integer season;
+        private String role;
+        private String splitType;
+        private String splitCd;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.baseball.entity;
+
+/**
+ * 本拠地/ビジター別・球場別成績の検索結果のプロジェクションインターフェース
+ * 通算の場合は年度をまたいで立場・分類ごとに合算済み。
+ */
+public interface VenueSplitProjection extends StatLineProjection {
+    String getRole();
+    String getSplitType();
+    String getSplitCd();
+}
@@ -0,0 +1,15 @@
+package com.example.baseball.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * データ更新バージョンが変わったことを通知するイベント
+ * メモリ上に保持している選手一覧・名前辞書・打席結果等はこのイベントで読み込み直す。
+ */
+@Getter
+@AllArgsConstructor
+public class DataVersionChangedEvent {
+	// 変更後のバージョン
+	private final long version;
+}
@@ -22,4 +22,17 @@ public interface AtBatResultRepository extends JpaRepository<AtBatResult, Long>
     // gameIdで検索
     @Query("SELECT abr FROM AtBatResult abr WHERE abr.gameId = :gameId ORDER BY abr.atBatId")
     	List<AtBatResult> findByGameId(@Param("gameId") Long gameId);
+
+    /**
+     * 指定した打席IDより後の打席IDを昇順に取得する
+     * メモリ上の打席結果（AtBatColumnStore）の差分ロードで、ビューに現れない打席を検出するために使用する。
+     * @param lastAtBatId 取得済みの最大打席ID
+     * @param limit 取得件数
+     * @return
+     */
+    @Query(value = "SELECT abr.AT_BAT_ID FROM AT_BAT_RESULT abr " +
+    	       "WHERE abr.AT_BAT_ID > :lastAtBatId " +
+    	       "ORDER BY abr.AT_BAT_ID " +
+    	       "LIMIT :limit", nativeQuery = true)
+    	List<Long> findAtBatIdsAfter(@Param("lastAtBatId") Long lastAtBatId, @Param("limit") int limit);
 }
@@ -1,5 +1,9 @@
 package com.example.baseball.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,6 +21,19 @@ public interface BaseballPlayerHistoryRepository extends JpaRepository<BaseballP
 	// 選手IDで検索
 	@Query("SELECT bph FROM BaseballPlayerHistory bph WHERE bph.playerId = :playerId AND bph.endDate IS NULL")
 	BaseballPlayerHistory findByplayerId(@Param("playerId") Long playerId);
+
+	/**
+	 * 試合日時点の選手経歴を取得する（V_AT_BAT_GAME_DETAILS の所属チームと同じ条件）
+	 * @param playerIds 選手ID
+	 * @param gameDate 試合日
+	 * @return 選手経歴（START_DATE 順）
+	 */
+	@Query(value = "SELECT * FROM BASEBALL_PLAYER_HISTORY " +
+			"WHERE PLAYER_ID IN (:playerIds) AND START_DATE <= :gameDate " +
+			"AND (END_DATE IS NULL OR END_DATE >= :gameDate) " +
+			"ORDER BY START_DATE", nativeQuery = true)
+	List<BaseballPlayerHistory> findByPlayerIdsOnDate(@Param("playerIds") Collection<Long> playerIds,
+			@Param("gameDate") LocalDate gameDate);
 	
     /**
      * PLAYER_ID と TEAM_ID で検索し、START_DATE の年が指定された year と一致するレコードを取得します。
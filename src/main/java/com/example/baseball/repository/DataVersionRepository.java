@@ -0,0 +1,21 @@
+package com.example.baseball.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.baseball.entity.DataVersion;
+
+@Repository
+public interface DataVersionRepository extends JpaRepository<DataVersion, Integer> {
+
+    /**
+     * バージョンを1加算する
+     */
+    @Modifying
+    @Query(value = "UPDATE DATA_VERSION SET VERSION_NO = VERSION_NO + 1, UPDATED_AT = NOW() " +
+            "WHERE DATA_VERSION_ID = :dataVersionId", nativeQuery = true)
+    int increment(@Param("dataVersionId") Integer dataVersionId);
+}
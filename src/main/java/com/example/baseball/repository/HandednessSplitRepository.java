@@ -0,0 +1,69 @@
+package com.example.baseball.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.baseball.entity.HandednessSplit;
+import com.example.baseball.entity.HandednessSplitProjection;
+import com.example.baseball.entity.StatLine;
+
+@Repository
+public interface HandednessSplitRepository extends JpaRepository<HandednessSplit, HandednessSplit.Key> {
+
+    /**
+     * 左右別成績に打席結果の件数を加算する。集計行がなければ作成する。
+     */
+    @Modifying
+    @Query(value = "INSERT INTO HANDEDNESS_SPLIT (" +
+            "PLAYER_ID, SEASON, ROLE, OPPONENT_HAND, " +
+            "SINGLES_NUMBER, DOUBLES_NUMBER, TRIPLES_NUMBER, HOME_RUN, " +
+            "FOUR_BALL_NUMBER, HIT_BALL_NUMBER, SACRIFICE_HIT, SACRIFICE_FLY, " +
+            "STRIKEOUTS_NUMBER, OUT_NUMBER) " +
+            "VALUES (:playerId, :season, :role, :opponentHand, " +
+            ":#{#statLine.singlesNumber}, :#{#statLine.doublesNumber}, :#{#statLine.triplesNumber}, " +
+            ":#{#statLine.homeRun}, :#{#statLine.fourBallNumber}, :#{#statLine.hitBallNumber}, " +
+            ":#{#statLine.sacrificeHit}, :#{#statLine.sacrificeFly}, :#{#statLine.strikeoutsNumber}, " +
+            ":#{#statLine.outNumber}) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "SINGLES_NUMBER = SINGLES_NUMBER + VALUES(SINGLES_NUMBER), " +
+            "DOUBLES_NUMBER = DOUBLES_NUMBER + VALUES(DOUBLES_NUMBER), " +
+            "TRIPLES_NUMBER = TRIPLES_NUMBER + VALUES(TRIPLES_NUMBER), " +
+            "HOME_RUN = HOME_RUN + VALUES(HOME_RUN), " +
+            "FOUR_BALL_NUMBER = FOUR_BALL_NUMBER + VALUES(FOUR_BALL_NUMBER), " +
+            "HIT_BALL_NUMBER = HIT_BALL_NUMBER + VALUES(HIT_BALL_NUMBER), " +
+            "SACRIFICE_HIT = SACRIFICE_HIT + VALUES(SACRIFICE_HIT), " +
+            "SACRIFICE_FLY = SACRIFICE_FLY + VALUES(SACRIFICE_FLY), " +
+            "STRIKEOUTS_NUMBER = STRIKEOUTS_NUMBER + VALUES(STRIKEOUTS_NUMBER), " +
+            "OUT_NUMBER = OUT_NUMBER + VALUES(OUT_NUMBER)", nativeQuery = true)
+    int upsert(@Param("playerId") Long playerId,
+            @Param("season") Integer season,
+            @Param("role") String role,
+            @Param("opponentHand") String opponentHand,
+            @Param("statLine") StatLine statLine);
+
+    /**
+     * 選手の左右別成績を取得する（主キーの範囲検索）
+     * 通算（season が null）の場合は年度をまたいで立場・相手の投打ごとに合算する。
+     * @param playerId
+     * @param season
+     * @return
+     */
+    @Query(value = "SELECT hs.ROLE AS role, hs.OPPONENT_HAND AS opponentHand, " +
+            "SUM(hs.SINGLES_NUMBER) AS singlesNumber, SUM(hs.DOUBLES_NUMBER) AS doublesNumber, " +
+            "SUM(hs.TRIPLES_NUMBER) AS triplesNumber, SUM(hs.HOME_RUN) AS homeRun, " +
+            "SUM(hs.FOUR_BALL_NUMBER) AS fourBallNumber, SUM(hs.HIT_BALL_NUMBER) AS hitBallNumber, " +
+            "SUM(hs.SACRIFICE_HIT) AS sacrificeHit, SUM(hs.SACRIFICE_FLY) AS sacrificeFly, " +
+            "SUM(hs.STRIKEOUTS_NUMBER) AS strikeoutsNumber, SUM(hs.OUT_NUMBER) AS outNumber " +
+            "FROM HANDEDNESS_SPLIT hs " +
+            "WHERE hs.PLAYER_ID = :playerId " +
+            "AND (:season IS NULL OR hs.SEASON = :season) " +
+            "GROUP BY hs.ROLE, hs.OPPONENT_HAND " +
+            "ORDER BY hs.ROLE, hs.OPPONENT_HAND", nativeQuery = true)
+    List<HandednessSplitProjection> findSplits(@Param("playerId") Long playerId,
+            @Param("season") Integer season);
+}
@@ -0,0 +1,99 @@
+package com.example.baseball.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.baseball.entity.MatchupAggregate;
+import com.example.baseball.entity.MatchupAggregateProjection;
+import com.example.baseball.entity.MatchupSeasonProjection;
+import com.example.baseball.entity.StatLine;
+
+@Repository
+public interface MatchupAggregateRepository extends JpaRepository<MatchupAggregate, MatchupAggregate.Key> {
+
+    /**
+     * 対戦成績集計に打席結果の件数を加算する。集計行がなければ作成する。
+     */
+    @Modifying
+    @Query(value = "INSERT INTO MATCHUP_AGGREGATE (" +
+            "PITCHER_ID, BATTER_ID, SEASON, PITCHER_TEAM_ID, BATTER_TEAM_ID, " +
+            "SINGLES_NUMBER, DOUBLES_NUMBER, TRIPLES_NUMBER, HOME_RUN, " +
+            "FOUR_BALL_NUMBER, HIT_BALL_NUMBER, SACRIFICE_HIT, SACRIFICE_FLY, " +
+            "STRIKEOUTS_NUMBER, OUT_NUMBER) " +
+            "VALUES (:pitcherId, :batterId, :season, :pitcherTeamId, :batterTeamId, " +
+            ":#{#statLine.singlesNumber}, :#{#statLine.doublesNumber}, :#{#statLine.triplesNumber}, " +
+            ":#{#statLine.homeRun}, :#{#statLine.fourBallNumber}, :#{#statLine.hitBallNumber}, " +
+            ":#{#statLine.sacrificeHit}, :#{#statLine.sacrificeFly}, :#{#statLine.strikeoutsNumber}, " +
+            ":#{#statLine.outNumber}) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "SINGLES_NUMBER = SINGLES_NUMBER + VALUES(SINGLES_NUMBER), " +
+            "DOUBLES_NUMBER = DOUBLES_NUMBER + VALUES(DOUBLES_NUMBER), " +
+            "TRIPLES_NUMBER = TRIPLES_NUMBER + VALUES(TRIPLES_NUMBER), " +
+            "HOME_RUN = HOME_RUN + VALUES(HOME_RUN), " +
+            "FOUR_BALL_NUMBER = FOUR_BALL_NUMBER + VALUES(FOUR_BALL_NUMBER), " +
+            "HIT_BALL_NUMBER = HIT_BALL_NUMBER + VALUES(HIT_BALL_NUMBER), " +
+            "SACRIFICE_HIT = SACRIFICE_HIT + VALUES(SACRIFICE_HIT), " +
+            "SACRIFICE_FLY = SACRIFICE_FLY + VALUES(SACRIFICE_FLY), " +
+            "STRIKEOUTS_NUMBER = STRIKEOUTS_NUMBER + VALUES(STRIKEOUTS_NUMBER), " +
+            "OUT_NUMBER = OUT_NUMBER + VALUES(OUT_NUMBER)", nativeQuery = true)
+    int upsert(@Param("pitcherId") Long pitcherId,
+            @Param("batterId") Long batterId,
+            @Param("season") Integer season,
+            @Param("pitcherTeamId") Long pitcherTeamId,
+            @Param("batterTeamId") Long batterTeamId,
+            @Param("statLine") StatLine statLine);
+
+    /**
+     * チームID、選手ID、年度のパラメータによって対戦成績集計を取得する
+     * 通算（season が null）の場合は年度をまたいで投手・打者・所属チームごとに合算する。
+     * チームIDが0またはnullの場合はチームで絞り込まない。
+     * @param pitcherTeamId
+     * @param batterTeamId
+     * @param pitcherId
+     * @param batterId
+     * @param season
+     * @return
+     */
+    @Query(value = "SELECT ma.PITCHER_ID AS pitcherId, pit.PLAYER_NM AS pitcherNm, pit.NPB_URL AS pitcherNpbUrl, " +
+            "ma.PITCHER_TEAM_ID AS pitcherTeamId, pitt.TEAM_SHOT_NM AS pitcherTeamShortNm, " +
+            "ma.BATTER_ID AS batterId, bat.PLAYER_NM AS batterNm, bat.NPB_URL AS batterNpbUrl, " +
+            "ma.BATTER_TEAM_ID AS batterTeamId, batt.TEAM_SHOT_NM AS batterTeamShortNm, " +
+            "SUM(ma.SINGLES_NUMBER) AS singlesNumber, SUM(ma.DOUBLES_NUMBER) AS doublesNumber, " +
+            "SUM(ma.TRIPLES_NUMBER) AS triplesNumber, SUM(ma.HOME_RUN) AS homeRun, " +
+            "SUM(ma.FOUR_BALL_NUMBER) AS fourBallNumber, SUM(ma.HIT_BALL_NUMBER) AS hitBallNumber, " +
+            "SUM(ma.SACRIFICE_HIT) AS sacrificeHit, SUM(ma.SACRIFICE_FLY) AS sacrificeFly, " +
+            "SUM(ma.STRIKEOUTS_NUMBER) AS strikeoutsNumber, SUM(ma.OUT_NUMBER) AS outNumber " +
+            "FROM MATCHUP_AGGREGATE ma " +
+            "JOIN BASEBALL_PLAYER pit ON pit.PLAYER_ID = ma.PITCHER_ID " +
+            "JOIN BASEBALL_PLAYER bat ON bat.PLAYER_ID = ma.BATTER_ID " +
+            "JOIN BASEBALL_TEAM pitt ON pitt.TEAM_ID = ma.PITCHER_TEAM_ID " +
+            "JOIN BASEBALL_TEAM batt ON batt.TEAM_ID = ma.BATTER_TEAM_ID " +
+            "WHERE (:batterTeamId IS NULL OR :batterTeamId = 0 OR ma.BATTER_TEAM_ID = :batterTeamId) " +
+            "AND (:pitcherTeamId IS NULL OR :pitcherTeamId = 0 OR ma.PITCHER_TEAM_ID = :pitcherTeamId) " +
+            "AND (:batterId IS NULL OR ma.BATTER_ID = :batterId) " +
+            "AND (:pitcherId IS NULL OR ma.PITCHER_ID = :pitcherId) " +
+            "AND (:season IS NULL OR ma.SEASON = :season) " +
+            "GROUP BY ma.PITCHER_ID, pit.PLAYER_NM, pit.NPB_URL, ma.PITCHER_TEAM_ID, pitt.TEAM_SHOT_NM, " +
+            "ma.BATTER_ID, bat.PLAYER_NM, bat.NPB_URL, ma.BATTER_TEAM_ID, batt.TEAM_SHOT_NM", nativeQuery = true)
+    List<MatchupAggregateProjection> findMatchupAggregate(
+            @Param("pitcherTeamId") Long pitcherTeamId,
+            @Param("batterTeamId") Long batterTeamId,
+            @Param("pitcherId") Long pitcherId,
+            @Param("batterId") Long batterId,
+            @Param("season") Integer season);
+
+    /**
+     * 対戦のあった投手・打者・年度の組み合わせを投手ID、打者ID順に取得する
+     * @return
+     */
+    @Query(value = "SELECT ma.PITCHER_ID AS pitcherId, ma.BATTER_ID AS batterId, ma.SEASON AS season " +
+            "FROM MATCHUP_AGGREGATE ma " +
+            "GROUP BY ma.PITCHER_ID, ma.BATTER_ID, ma.SEASON " +
+            "ORDER BY ma.PITCHER_ID, ma.BATTER_ID", nativeQuery = true)
+    List<MatchupSeasonProjection> findMatchupSeasons();
+}
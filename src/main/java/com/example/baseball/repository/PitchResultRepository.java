@@ -1,11 +1,48 @@
 package com.example.baseball.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.baseball.entity.PitchResult;
+import com.example.baseball.entity.PitchZoneCountProjection;
 
 @Repository
 public interface PitchResultRepository extends JpaRepository<PitchResult, Long> {
 
+    /**
+     * 投手・打者・年度のパラメータによって球種・コースごとの投球数を取得する
+     * 集計はDB側で行い、返却行数は球種数×コース数以内に収まる。
+     * @param pitcherId
+     * @param batterId
+     * @param season
+     * @return
+     */
+    @Query(value = "SELECT pr.PITCH_TYPE AS pitchType, pr.COURSE AS course, COUNT(*) AS pitchCount " +
+            "FROM PITCH_RESULT pr " +
+            "JOIN AT_BAT_RESULT abr ON abr.AT_BAT_ID = pr.AT_BAT_ID " +
+            "JOIN BASEBALL_GAME bg ON bg.GAME_ID = abr.GAME_ID " +
+            "WHERE (:pitcherId IS NULL OR abr.PITCHER_ID = :pitcherId) " +
+            "AND (:batterId IS NULL OR abr.BATTER_ID = :batterId) " +
+            "AND (:season IS NULL OR YEAR(bg.GAME_DATE) = :season) " +
+            "GROUP BY pr.PITCH_TYPE, pr.COURSE", nativeQuery = true)
+    List<PitchZoneCountProjection> countByPitchTypeAndCourse(
+            @Param("pitcherId") Long pitcherId,
+            @Param("batterId") Long batterId,
+            @Param("season") Integer season);
+
+    /**
+     * 試合の投球結果を削除する（一球速報を取り直す場合）
+     * @param gameId 試合ID
+     * @return 削除した件数
+     */
+    @Modifying
+    @Query(value = "DELETE pr FROM PITCH_RESULT pr " +
+            "JOIN AT_BAT_RESULT abr ON abr.AT_BAT_ID = pr.AT_BAT_ID " +
+            "WHERE abr.GAME_ID = :gameId", nativeQuery = true)
+    int deleteByGameId(@Param("gameId") Long gameId);
 }
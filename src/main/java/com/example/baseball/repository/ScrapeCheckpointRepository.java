@@ -0,0 +1,10 @@
+package com.example.baseball.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.baseball.entity.ScrapeCheckpoint;
+
+@Repository
+public interface ScrapeCheckpointRepository extends JpaRepository<ScrapeCheckpoint, String> {
+}
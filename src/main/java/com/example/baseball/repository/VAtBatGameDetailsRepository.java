@@ -1,5 +1,6 @@
 package com.example.baseball.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,36 +8,40 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.baseball.entity.AtBatRowProjection;
 import com.example.baseball.entity.VAtBatGameDetails;
 
 @Repository
 public interface VAtBatGameDetailsRepository extends JpaRepository<VAtBatGameDetails, Long> {
 
-    /**
-     * チームID、選手ID、年度のパラメータによって打席結果を取得する
-     * パラメータによって投手VS野手、選手VSそのチームのすべての選手の情報を取得する
-     * @param pitcherTeamId
-     * @param batterTeamId
-     * @param pitcherId
-     * @param batterId
-     * @param selectedYear
-     * @return
-     */
-	@Query(value = "SELECT * FROM V_AT_BAT_GAME_DETAILS vag " +
-		       "WHERE (:batterTeamId = 0 OR vag.BATTER_TEAM_ID = :batterTeamId) " +
-		       "AND (:pitcherTeamId = 0 OR vag.PITCHER_TEAM_ID = :pitcherTeamId) " +
-		       "AND (:batterId IS NULL OR vag.BATTER_ID = :batterId) " +
-		       "AND (:pitcherId IS NULL OR vag.PITCHER_ID = :pitcherId) " +
-		       "AND (" +
-		       "    :selectedYear = '通算' OR (" +
-		       "        vag.GAME_DATE BETWEEN STR_TO_DATE(CONCAT(:selectedYear, '-01-01'), '%Y-%m-%d') " +
-		       "        AND STR_TO_DATE(CONCAT(:selectedYear, '-12-31'), '%Y-%m-%d')" +
-		       "    )" +
-		       ")", nativeQuery = true)
-		List<VAtBatGameDetails> findByBatterAndPitcher(
-		        @Param("pitcherTeamId") Long pitcherTeamId,
-		        @Param("batterTeamId") Long batterTeamId,
-		        @Param("pitcherId") Long pitcherId,
-		        @Param("batterId") Long batterId,
-		        @Param("selectedYear") String selectedYear);
+	/**
+	 * 打席IDの範囲（lastAtBatId より後、maxAtBatId 以下）の打席結果を、集計に必要な列のみ打席ID順に取得する
+	 * メモリ上の打席結果（AtBatColumnStore）の初期ロード・差分ロード用
+	 * @param lastAtBatId 取得済みの最大打席ID
+	 * @param maxAtBatId 取得する最大打席ID
+	 * @return
+	 */
+	@Query(value = "SELECT vag.AT_BAT_ID AS atBatId, vag.PITCHER_ID AS pitcherId, vag.BATTER_ID AS batterId, " +
+		       "vag.PITCHER_TEAM_ID AS pitcherTeamId, vag.BATTER_TEAM_ID AS batterTeamId, " +
+		       "vag.GAME_DATE AS gameDate, vag.RESULT_CD AS resultCd, vag.RESULT AS result " +
+		       "FROM V_AT_BAT_GAME_DETAILS vag " +
+		       "WHERE vag.AT_BAT_ID > :lastAtBatId AND vag.AT_BAT_ID <= :maxAtBatId " +
+		       "ORDER BY vag.AT_BAT_ID", nativeQuery = true)
+		List<AtBatRowProjection> findAtBatRowsBetween(
+		        @Param("lastAtBatId") Long lastAtBatId,
+		        @Param("maxAtBatId") Long maxAtBatId);
+
+	/**
+	 * 指定した打席IDの打席結果を、集計に必要な列のみ打席ID順に取得する
+	 * 差分ロード時にビューに現れなかった打席（試合日時点の選手経歴が未登録）の再取得用
+	 * @param atBatIds 打席IDリスト
+	 * @return ビューに現れる打席のみ
+	 */
+	@Query(value = "SELECT vag.AT_BAT_ID AS atBatId, vag.PITCHER_ID AS pitcherId, vag.BATTER_ID AS batterId, " +
+		       "vag.PITCHER_TEAM_ID AS pitcherTeamId, vag.BATTER_TEAM_ID AS batterTeamId, " +
+		       "vag.GAME_DATE AS gameDate, vag.RESULT_CD AS resultCd, vag.RESULT AS result " +
+		       "FROM V_AT_BAT_GAME_DETAILS vag " +
+		       "WHERE vag.AT_BAT_ID IN (:atBatIds) " +
+		       "ORDER BY vag.AT_BAT_ID", nativeQuery = true)
+		List<AtBatRowProjection> findAtBatRowsByIds(@Param("atBatIds") Collection<Long> atBatIds);
 }
@@ -0,0 +1,70 @@
+package com.example.baseball.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.baseball.entity.VelocityBucketProjection;
+import com.example.baseball.entity.VelocityHistogram;
+
+@Repository
+public interface VelocityHistogramRepository extends JpaRepository<VelocityHistogram, VelocityHistogram.Key> {
+
+    /**
+     * 保存済みの投球結果を投手・年度・球種・球速ごとにまとめて球速分布に加算する。集計行がなければ作成する。
+     * 球速が取得できなかった投球（SPEED = 0）は加算しない。
+     * @param pitchIds 投球ID
+     * @return
+     */
+    @Modifying
+    @Query(value = "INSERT INTO VELOCITY_HISTOGRAM (PITCHER_ID, SEASON, PITCH_TYPE, SPEED, PITCH_COUNT) " +
+            "SELECT p.PITCHER_ID, p.SEASON, p.PITCH_TYPE, p.SPEED, p.PITCH_COUNT FROM (" +
+            "SELECT abr.PITCHER_ID, YEAR(bg.GAME_DATE) AS SEASON, pr.PITCH_TYPE, pr.SPEED, COUNT(*) AS PITCH_COUNT " +
+            "FROM PITCH_RESULT pr " +
+            "JOIN AT_BAT_RESULT abr ON abr.AT_BAT_ID = pr.AT_BAT_ID " +
+            "JOIN BASEBALL_GAME bg ON bg.GAME_ID = abr.GAME_ID " +
+            "WHERE pr.PITCH_ID IN (:pitchIds) AND pr.SPEED > 0 " +
+            "GROUP BY abr.PITCHER_ID, YEAR(bg.GAME_DATE), pr.PITCH_TYPE, pr.SPEED) p " +
+            "ON DUPLICATE KEY UPDATE PITCH_COUNT = VELOCITY_HISTOGRAM.PITCH_COUNT + p.PITCH_COUNT", nativeQuery = true)
+    int addPitches(@Param("pitchIds") Collection<Long> pitchIds);
+
+    /**
+     * 試合の保存済みの投球結果を球速分布から減算する（取り直す試合の投球結果を削除する前に実行する）
+     * 集計行は削除せず、投球数が0の行は検索時に除外する。
+     * @param gameId 試合ID
+     * @return
+     */
+    @Modifying
+    @Query(value = "UPDATE VELOCITY_HISTOGRAM vh JOIN (" +
+            "SELECT abr.PITCHER_ID, YEAR(bg.GAME_DATE) AS SEASON, pr.PITCH_TYPE, pr.SPEED, COUNT(*) AS PITCH_COUNT " +
+            "FROM PITCH_RESULT pr " +
+            "JOIN AT_BAT_RESULT abr ON abr.AT_BAT_ID = pr.AT_BAT_ID " +
+            "JOIN BASEBALL_GAME bg ON bg.GAME_ID = abr.GAME_ID " +
+            "WHERE abr.GAME_ID = :gameId AND pr.SPEED > 0 " +
+            "GROUP BY abr.PITCHER_ID, YEAR(bg.GAME_DATE), pr.PITCH_TYPE, pr.SPEED) p " +
+            "ON vh.PITCHER_ID = p.PITCHER_ID AND vh.SEASON = p.SEASON " +
+            "AND vh.PITCH_TYPE = p.PITCH_TYPE AND vh.SPEED = p.SPEED " +
+            "SET vh.PITCH_COUNT = vh.PITCH_COUNT - p.PITCH_COUNT", nativeQuery = true)
+    int subtractGamePitches(@Param("gameId") Long gameId);
+
+    /**
+     * 投手の球種・球速ごとの投球数を取得する（主キーの範囲検索）
+     * 通算（season が null）の場合は年度をまたいで合算する。投球数が0の区間（取り直しで減算した行）は含めない。
+     * @param pitcherId
+     * @param season
+     * @return
+     */
+    @Query(value = "SELECT vh.PITCH_TYPE AS pitchType, vh.SPEED AS speed, SUM(vh.PITCH_COUNT) AS pitchCount " +
+            "FROM VELOCITY_HISTOGRAM vh " +
+            "WHERE vh.PITCHER_ID = :pitcherId " +
+            "AND (:season IS NULL OR vh.SEASON = :season) " +
+            "GROUP BY vh.PITCH_TYPE, vh.SPEED " +
+            "HAVING SUM(vh.PITCH_COUNT) > 0", nativeQuery = true)
+    List<VelocityBucketProjection> findBuckets(@Param("pitcherId") Long pitcherId,
+            @Param("season") Integer season);
+}
@@ -0,0 +1,70 @@
+package com.example.baseball.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.baseball.entity.StatLine;
+import com.example.baseball.entity.VenueSplit;
+import com.example.baseball.entity.VenueSplitProjection;
+
+@Repository
+public interface VenueSplitRepository extends JpaRepository<VenueSplit, VenueSplit.Key> {
+
+    /**
+     * 本拠地/ビジター別・球場別成績に打席結果の件数を加算する。集計行がなければ作成する。
+     */
+    @Modifying
+    @Query(value = "INSERT INTO VENUE_SPLIT (" +
+            "PLAYER_ID, SEASON, ROLE, SPLIT_TYPE, SPLIT_CD, " +
+            "SINGLES_NUMBER, DOUBLES_NUMBER, TRIPLES_NUMBER, HOME_RUN, " +
+            "FOUR_BALL_NUMBER, HIT_BALL_NUMBER, SACRIFICE_HIT, SACRIFICE_FLY, " +
+            "STRIKEOUTS_NUMBER, OUT_NUMBER) " +
+            "VALUES (:playerId, :season, :role, :splitType, :splitCd, " +
+            ":#{#statLine.singlesNumber}, :#{#statLine.doublesNumber}, :#{#statLine.triplesNumber}, " +
+            ":#{#statLine.homeRun}, :#{#statLine.fourBallNumber}, :#{#statLine.hitBallNumber}, " +
+            ":#{#statLine.sacrificeHit}, :#{#statLine.sacrificeFly}, :#{#statLine.strikeoutsNumber}, " +
+            ":#{#statLine.outNumber}) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "SINGLES_NUMBER = SINGLES_NUMBER + VALUES(SINGLES_NUMBER), " +
+            "DOUBLES_NUMBER = DOUBLES_NUMBER + VALUES(DOUBLES_NUMBER), " +
+            "TRIPLES_NUMBER = TRIPLES_NUMBER + VALUES(TRIPLES_NUMBER), " +
+            "HOME_RUN = HOME_RUN + VALUES(HOME_RUN), " +
+            "FOUR_BALL_NUMBER = FOUR_BALL_NUMBER + VALUES(FOUR_BALL_NUMBER), " +
+            "HIT_BALL_NUMBER = HIT_BALL_NUMBER + VALUES(HIT_BALL_NUMBER), " +
+            "SACRIFICE_HIT = SACRIFICE_HIT + VALUES(SACRIFICE_HIT), " +
+            "SACRIFICE_FLY = SACRIFICE_FLY + VALUES(SACRIFICE_FLY), " +
+            "STRIKEOUTS_NUMBER = STRIKEOUTS_NUMBER + VALUES(STRIKEOUTS_NUMBER), " +
+            "OUT_NUMBER = OUT_NUMBER + VALUES(OUT_NUMBER)", nativeQuery = true)
+    int upsert(@Param("playerId") Long playerId,
+            @Param("season") Integer season,
+            @Param("role") String role,
+            @Param("splitType") String splitType,
+            @Param("splitCd") String splitCd,
+            @Param("statLine") StatLine statLine);
+
+    /**
+     * 選手の本拠地/ビジター別・球場別成績を取得する（主キーの範囲検索）
+     * 通算（season が null）の場合は年度をまたいで立場・分類ごとに合算する。
+     * @param playerId
+     * @param season
+     * @return
+     */
+    @Query(value = "SELECT vs.ROLE AS role, vs.SPLIT_TYPE AS splitType, vs.SPLIT_CD AS splitCd, " +
+            "SUM(vs.SINGLES_NUMBER) AS singlesNumber, SUM(vs.DOUBLES_NUMBER) AS doublesNumber, " +
+            "SUM(vs.TRIPLES_NUMBER) AS triplesNumber, SUM(vs.HOME_RUN) AS homeRun, " +
+            "SUM(vs.FOUR_BALL_NUMBER) AS fourBallNumber, SUM(vs.HIT_BALL_NUMBER) AS hitBallNumber, " +
+            "SUM(vs.SACRIFICE_HIT) AS sacrificeHit, SUM(vs.SACRIFICE_FLY) AS sacrificeFly, " +
+            "SUM(vs.STRIKEOUTS_NUMBER) AS strikeoutsNumber, SUM(vs.OUT_NUMBER) AS outNumber " +
+            "FROM VENUE_SPLIT vs " +
+            "WHERE vs.PLAYER_ID = :playerId " +
+            "AND (:season IS NULL OR vs.SEASON = :season) " +
+            "GROUP BY vs.ROLE, vs.SPLIT_TYPE, vs.SPLIT_CD " +
+            "ORDER BY vs.ROLE, vs.SPLIT_TYPE, vs.SPLIT_CD", nativeQuery = true)
+    List<VenueSplitProjection> findSplits(@Param("playerId") Long playerId,
+            @Param("season") Integer season);
+}
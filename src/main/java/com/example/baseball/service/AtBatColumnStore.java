@@ -0,0 +1,469 @@
+package com.example.baseball.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.baseball.entity.AtBatRowProjection;
+import com.example.baseball.entity.MatchResult;
+import com.example.baseball.event.DataVersionChangedEvent;
+import com.example.baseball.util.AtBatOutcome;
+import com.example.baseball.util.BaseballUtil;
+
+/**
+ * 全打席結果をメモリ上に列形式で保持し、対戦成績をSQLなしで集計する
+ *
+ * 投手・打者・チームはIDを連番コードに辞書化し、打席ごとの値をint配列で持つ。
+ * 選手名・チーム略称は保持せず、集計単位ごとに NameDictionaryService から取得する。
+ * 選手を指定した検索は、投手・打者の組み合わせごとの累積件数（MatchupPrefixIndex）から期間内の件数を求めるため、
+ * 年度・任意の期間のどちらでも打席を走査しない。
+ * 読み込み済みのデータは不変のスナップショットとして公開し、差分ロード時は新しいスナップショットに差し替える。
+ * 打席結果はスクレイパー（別プロセス）が登録するため、一定間隔で未読み込みの打席を取得する。
+ * ビューは試合日時点の選手経歴と内部結合するため、経歴が未登録の打席はビューに現れない。
+ * そのような打席は打席IDを保持しておき、以降の差分ロードで再取得する（読み込み済みの最大打席IDだけでは取りこぼすため）。
+ */
+@Component
+public class AtBatColumnStore {
+
+	private static final Logger log = LoggerFactory.getLogger(AtBatColumnStore.class);
+
+	// 1回のクエリで取得する打席数
+	private static final int LOAD_CHUNK_SIZE = 50000;
+
+	@Value("${baseball.column-store.enabled:true}")
+	private boolean enabled;
+
+	// 差分ロードを確認する間隔（ミリ秒）
+	@Value("${baseball.column-store.refresh-interval-ms:60000}")
+	private long refreshIntervalMs;
+
+	@Autowired
+	private VAtBatGameDetailsService vAtBatGameDetailsService;
+	@Autowired
+	private AtBatResultService atBatResultService;
+	@Autowired
+	private NameDictionaryService nameDictionaryService;
+
+	private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "at-bat-column-store");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+
+	// ロード完了前はnull
+	private volatile Snapshot snapshot;
+	private volatile long lastRefreshMillis;
+
+	/**
+	 * 起動完了後に全打席を非同期でロードする。ロード完了までは isReady() が false を返す。
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		if (enabled) {
+			requestRefresh();
+		}
+	}
+
+	/**
+	 * データが更新された場合は差分をロードする
+	 * 新しいバージョンのETagで古い集計結果を返さないよう、ロード済みの場合は呼び出し元のスレッド
+	 * （DataVersionService のバックグラウンドスレッド）でロードする。ロードが終わるまで画面APIは古いバージョンと
+	 * 古いスナップショットで応答する。
+	 */
+	@EventListener
+	public void onDataVersionChanged(DataVersionChangedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		if (isReady()) {
+			refresh();
+			lastRefreshMillis = System.currentTimeMillis();
+		} else {
+			requestRefresh();
+		}
+	}
+
+	public boolean isReady() {
+		return snapshot != null;
+	}
+
+	/**
+	 * 差分ロードを非同期で要求する。ロード中の場合は何もしない。
+	 */
+	public void requestRefresh() {
+		if (!enabled || !refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		loader.execute(() -> {
+			try {
+				refresh();
+			} catch (RuntimeException e) {
+				log.error("打席結果のロードに失敗しました", e);
+			} finally {
+				lastRefreshMillis = System.currentTimeMillis();
+				refreshing.set(false);
+			}
+		});
+	}
+
+	/**
+	 * 読み込み済みの最大打席IDより後の打席と、前回までにビューに現れなかった打席を取得し、スナップショットを差し替える
+	 * 最大打席IDは AT_BAT_RESULT の打席IDで進め、その範囲でビューに現れなかった打席は再取得の対象として保持する。
+	 */
+	public synchronized void refresh() {
+		long start = System.currentTimeMillis();
+		Snapshot current = snapshot;
+		Builder builder = current == null ? new Builder() : new Builder(current);
+		long previousAtBatId = builder.lastAtBatId;
+
+		int loaded = 0;
+		// 前回までにビューに現れなかった打席（選手経歴が後から登録された場合に現れる）
+		if (!builder.pendingAtBatIds.isEmpty()) {
+			List<Long> pendingIds = new ArrayList<>(builder.pendingAtBatIds);
+			for (int i = 0; i < pendingIds.size(); i += LOAD_CHUNK_SIZE) {
+				List<Long> chunk = pendingIds.subList(i, Math.min(i + LOAD_CHUNK_SIZE, pendingIds.size()));
+				for (AtBatRowProjection row : vAtBatGameDetailsService.findAtBatRowsByIds(chunk)) {
+					builder.add(row);
+					builder.pendingAtBatIds.remove(row.getAtBatId());
+					loaded++;
+				}
+			}
+		}
+
+		List<Long> atBatIds;
+		do {
+			atBatIds = atBatResultService.findAtBatIdsAfter(builder.lastAtBatId, LOAD_CHUNK_SIZE);
+			if (atBatIds.isEmpty()) {
+				break;
+			}
+			Long maxAtBatId = atBatIds.get(atBatIds.size() - 1);
+			Set<Long> missingIds = new HashSet<>(atBatIds);
+			for (AtBatRowProjection row : vAtBatGameDetailsService.findAtBatRowsBetween(builder.lastAtBatId,
+					maxAtBatId)) {
+				builder.add(row);
+				missingIds.remove(row.getAtBatId());
+				loaded++;
+			}
+			builder.pendingAtBatIds.addAll(missingIds);
+			builder.lastAtBatId = maxAtBatId;
+		} while (atBatIds.size() == LOAD_CHUNK_SIZE);
+
+		if (current != null && loaded == 0 && builder.lastAtBatId == previousAtBatId) {
+			return;
+		}
+		snapshot = builder.build();
+		// 検索時の名前解決でDBアクセスが発生しないよう、選手を先読みしておく
+		nameDictionaryService.preloadPlayers(builder.playerIds);
+		log.info("打席結果をロードしました: 追加 {} 件 / 合計 {} 件 ({} ms)",
+				loaded, snapshot.size, System.currentTimeMillis() - start);
+		if (!builder.pendingAtBatIds.isEmpty()) {
+			log.warn("試合日時点の選手経歴がないため集計対象外の打席があります: {} 件", builder.pendingAtBatIds.size());
+		}
+	}
+
+	/**
+	 * チームID、選手ID、年度のパラメータによって対戦成績を集計する
+	 * 集計単位は VAtBatGameDetails から集計する場合（AtBatStatisticsService）と同じ。
+	 * @param pitcherTeamId 0またはnullの場合は絞り込まない
+	 * @param batterTeamId 0またはnullの場合は絞り込まない
+	 * @param pitcherId
+	 * @param batterId
+	 * @param selectedYear
+	 * @param fromDate 期間の開始日（nullの場合は指定なし）
+	 * @param toDate 期間の終了日（nullの場合は指定なし）
+	 * @return 対戦成績リスト（対戦がない場合は空リスト）
+	 */
+	public List<MatchResult> search(Long pitcherTeamId, Long batterTeamId, Long pitcherId, Long batterId,
+			String selectedYear, LocalDate fromDate, LocalDate toDate) {
+		if (System.currentTimeMillis() - lastRefreshMillis > refreshIntervalMs) {
+			requestRefresh();
+		}
+		Snapshot current = snapshot;
+		if (current == null) {
+			throw new IllegalStateException("打席結果がロードされていません");
+		}
+		// 年度と期間の両方の指定がある場合は重なる期間のみ
+		Integer season = BaseballUtil.parseSeason(selectedYear);
+		int from = season == null ? Integer.MIN_VALUE : season * 10000 + 101;
+		int to = season == null ? Integer.MAX_VALUE : season * 10000 + 1231;
+		if (fromDate != null) {
+			from = Math.max(from, toDateNumber(fromDate));
+		}
+		if (toDate != null) {
+			to = Math.min(to, toDateNumber(toDate));
+		}
+		return current.search(pitcherTeamId, batterTeamId, pitcherId, batterId, from, to, nameDictionaryService);
+	}
+
+	private static int toDateNumber(Date date) {
+		return toDateNumber(BaseballUtil.toLocalDate(date));
+	}
+
+	private static int toDateNumber(LocalDate localDate) {
+		return localDate.getYear() * 10000 + localDate.getMonthValue() * 100 + localDate.getDayOfMonth();
+	}
+
+	/**
+	 * 読み込み済みの打席結果（不変）
+	 */
+	private static final class Snapshot {
+		private final int size;
+		private final long lastAtBatId;
+		// ビューに現れなかった打席ID（次回の差分ロードで再取得する）
+		private final Set<Long> pendingAtBatIds;
+		// 打席ごとの値（選手・チームは辞書コード、試合日はyyyyMMdd、打席結果はRESULT_CD）
+		private final int[] pitcher;
+		private final int[] batter;
+		private final int[] pitcherTeam;
+		private final int[] batterTeam;
+		private final int[] gameDate;
+		private final byte[] outcome;
+		// 辞書
+		private final Map<Long, Integer> playerCodeById;
+		private final long[] playerIdByCode;
+		private final Map<Long, Integer> teamCodeById;
+		private final long[] teamIdByCode;
+		// 投手・打者の組み合わせごとの累積件数
+		private final MatchupPrefixIndex prefixIndex;
+
+		private Snapshot(Builder builder) {
+			this.size = builder.size;
+			this.lastAtBatId = builder.lastAtBatId;
+			this.pendingAtBatIds = Set.copyOf(builder.pendingAtBatIds);
+			this.pitcher = Arrays.copyOf(builder.pitcher, size);
+			this.batter = Arrays.copyOf(builder.batter, size);
+			this.pitcherTeam = Arrays.copyOf(builder.pitcherTeam, size);
+			this.batterTeam = Arrays.copyOf(builder.batterTeam, size);
+			this.gameDate = Arrays.copyOf(builder.gameDate, size);
+			this.outcome = Arrays.copyOf(builder.outcome, size);
+			this.playerCodeById = builder.playerCodeById;
+			this.playerIdByCode = builder.playerIds.stream().mapToLong(Long::longValue).toArray();
+			this.teamCodeById = builder.teamCodeById;
+			this.teamIdByCode = builder.teamIds.stream().mapToLong(Long::longValue).toArray();
+			this.prefixIndex = new MatchupPrefixIndex(size, playerIdByCode.length, pitcher, batter,
+					pitcherTeam, batterTeam, gameDate, outcome);
+		}
+
+		List<MatchResult> search(Long pitcherTeamId, Long batterTeamId, Long pitcherId, Long batterId, int fromDate,
+				int toDate, NameDictionaryService nameDictionaryService) {
+			// 未登録の選手・チームが指定された場合は対戦なし
+			int pitcherTeamCode = isAll(pitcherTeamId) ? -1 : teamCodeById.getOrDefault(pitcherTeamId, -2);
+			int batterTeamCode = isAll(batterTeamId) ? -1 : teamCodeById.getOrDefault(batterTeamId, -2);
+			int pitcherCode = pitcherId == null ? -1 : playerCodeById.getOrDefault(pitcherId, -2);
+			int batterCode = batterId == null ? -1 : playerCodeById.getOrDefault(batterId, -2);
+			if (pitcherTeamCode == -2 || batterTeamCode == -2 || pitcherCode == -2 || batterCode == -2) {
+				return Collections.emptyList();
+			}
+			if (pitcherCode >= 0 || batterCode >= 0) {
+				return searchByPairs(pitcherTeamCode, batterTeamCode, pitcherCode, batterCode, fromDate, toDate,
+						nameDictionaryService);
+			}
+
+			// 選手指定なしは全打席を走査して投手ごとに集計する
+			MatchResultAccumulator[] groups = new MatchResultAccumulator[playerIdByCode.length];
+			List<MatchResultAccumulator> groupList = new ArrayList<>();
+			for (int row = 0; row < size; row++) {
+				if ((pitcherTeamCode >= 0 && pitcherTeam[row] != pitcherTeamCode)
+						|| (batterTeamCode >= 0 && batterTeam[row] != batterTeamCode)
+						|| gameDate[row] < fromDate || gameDate[row] > toDate) {
+					continue;
+				}
+				MatchResultAccumulator group = groups[pitcher[row]];
+				if (group == null) {
+					group = newGroup(row, nameDictionaryService);
+					groups[pitcher[row]] = group;
+					groupList.add(group);
+				}
+				group.add(AtBatOutcome.fromCode(outcome[row]),
+						teamIdByCode[batterTeam[row]], teamIdByCode[pitcherTeam[row]]);
+			}
+
+			List<MatchResult> matchResults = new ArrayList<>(groupList.size());
+			for (MatchResultAccumulator group : groupList) {
+				matchResults.add(group.toMatchResult());
+			}
+			return AtBatStatisticsService.sortResults(matchResults, MatchResult::getPitcherTeamId);
+		}
+
+		/**
+		 * 選手指定ありの検索。組み合わせごとに期間内の件数を累積件数の差から求める。
+		 * チームの絞り込みがある場合と、組み合わせ内で所属チームが変わっている場合（「複数」の判定）は期間内の打席のみ走査する。
+		 */
+		private List<MatchResult> searchByPairs(int pitcherTeamCode, int batterTeamCode, int pitcherCode,
+				int batterCode, int fromDate, int toDate, NameDictionaryService nameDictionaryService) {
+			int[] pairs;
+			if (pitcherCode >= 0 && batterCode >= 0) {
+				int pair = prefixIndex.pair(pitcherCode, batterCode);
+				pairs = pair < 0 ? new int[0] : new int[] { pair };
+			} else if (pitcherCode >= 0) {
+				pairs = prefixIndex.pairsOfPitcher(pitcherCode);
+			} else {
+				pairs = prefixIndex.pairsOfBatter(batterCode);
+			}
+			boolean teamFiltered = pitcherTeamCode >= 0 || batterTeamCode >= 0;
+
+			// 選手を1人だけ指定した場合は組み合わせごと（対戦相手ごと）に1件
+			List<MatchResult> matchResults = new ArrayList<>();
+			for (int pair : pairs) {
+				int from = prefixIndex.lowerBound(pair, fromDate);
+				int to = prefixIndex.upperBound(pair, toDate);
+				// 期間内の打席がない（開始日が終了日より後の場合を含む）
+				if (from >= to) {
+					continue;
+				}
+				MatchResultAccumulator group = null;
+				if (!teamFiltered && !prefixIndex.hasMultipleTeams(pair)) {
+					int row = prefixIndex.rowAt(from);
+					group = newGroup(row, nameDictionaryService);
+					group.merge(prefixIndex.sum(pair, from, to), teamIdByCode[batterTeam[row]],
+							teamIdByCode[pitcherTeam[row]]);
+				} else {
+					for (int position = from; position < to; position++) {
+						int row = prefixIndex.rowAt(position);
+						if ((pitcherTeamCode >= 0 && pitcherTeam[row] != pitcherTeamCode)
+								|| (batterTeamCode >= 0 && batterTeam[row] != batterTeamCode)) {
+							continue;
+						}
+						if (group == null) {
+							group = newGroup(row, nameDictionaryService);
+						}
+						group.add(AtBatOutcome.fromCode(outcome[row]),
+								teamIdByCode[batterTeam[row]], teamIdByCode[pitcherTeam[row]]);
+					}
+				}
+				if (group != null) {
+					matchResults.add(group.toMatchResult());
+				}
+			}
+			if (pitcherCode >= 0 && batterCode >= 0) {
+				return matchResults;
+			}
+			return AtBatStatisticsService.sortResults(matchResults,
+					pitcherCode < 0 ? MatchResult::getPitcherTeamId : MatchResult::getBatterTeamId);
+		}
+
+		private MatchResultAccumulator newGroup(int row, NameDictionaryService nameDictionaryService) {
+			return MatchResultAccumulator.of(playerIdByCode[batter[row]], teamIdByCode[batterTeam[row]],
+					playerIdByCode[pitcher[row]], teamIdByCode[pitcherTeam[row]], nameDictionaryService);
+		}
+
+		private static boolean isAll(Long teamId) {
+			return teamId == null || teamId == 0L;
+		}
+	}
+
+	/**
+	 * スナップショットの作成用（ロードスレッドからのみ使用）
+	 */
+	private static final class Builder {
+		private int size;
+		private long lastAtBatId;
+		private final Set<Long> pendingAtBatIds;
+		private int[] pitcher;
+		private int[] batter;
+		private int[] pitcherTeam;
+		private int[] batterTeam;
+		private int[] gameDate;
+		private byte[] outcome;
+		private final Map<Long, Integer> playerCodeById;
+		private final List<Long> playerIds;
+		private final Map<Long, Integer> teamCodeById;
+		private final List<Long> teamIds;
+
+		Builder() {
+			this.pendingAtBatIds = new HashSet<>();
+			this.pitcher = new int[LOAD_CHUNK_SIZE];
+			this.batter = new int[LOAD_CHUNK_SIZE];
+			this.pitcherTeam = new int[LOAD_CHUNK_SIZE];
+			this.batterTeam = new int[LOAD_CHUNK_SIZE];
+			this.gameDate = new int[LOAD_CHUNK_SIZE];
+			this.outcome = new byte[LOAD_CHUNK_SIZE];
+			this.playerCodeById = new HashMap<>();
+			this.playerIds = new ArrayList<>();
+			this.teamCodeById = new HashMap<>();
+			this.teamIds = new ArrayList<>();
+		}
+
+		/**
+		 * 既存のスナップショットに追記するためのコピーを作成する（既存のスナップショットは変更しない）
+		 */
+		Builder(Snapshot base) {
+			int capacity = base.size + LOAD_CHUNK_SIZE;
+			this.size = base.size;
+			this.lastAtBatId = base.lastAtBatId;
+			this.pendingAtBatIds = new HashSet<>(base.pendingAtBatIds);
+			this.pitcher = Arrays.copyOf(base.pitcher, capacity);
+			this.batter = Arrays.copyOf(base.batter, capacity);
+			this.pitcherTeam = Arrays.copyOf(base.pitcherTeam, capacity);
+			this.batterTeam = Arrays.copyOf(base.batterTeam, capacity);
+			this.gameDate = Arrays.copyOf(base.gameDate, capacity);
+			this.outcome = Arrays.copyOf(base.outcome, capacity);
+			this.playerCodeById = new HashMap<>(base.playerCodeById);
+			this.playerIds = new ArrayList<>();
+			for (long playerId : base.playerIdByCode) {
+				playerIds.add(playerId);
+			}
+			this.teamCodeById = new HashMap<>(base.teamCodeById);
+			this.teamIds = new ArrayList<>();
+			for (long teamId : base.teamIdByCode) {
+				teamIds.add(teamId);
+			}
+		}
+
+		void add(AtBatRowProjection row) {
+			if (size == pitcher.length) {
+				int capacity = size + LOAD_CHUNK_SIZE;
+				pitcher = Arrays.copyOf(pitcher, capacity);
+				batter = Arrays.copyOf(batter, capacity);
+				pitcherTeam = Arrays.copyOf(pitcherTeam, capacity);
+				batterTeam = Arrays.copyOf(batterTeam, capacity);
+				gameDate = Arrays.copyOf(gameDate, capacity);
+				outcome = Arrays.copyOf(outcome, capacity);
+			}
+			pitcher[size] = playerCode(row.getPitcherId());
+			batter[size] = playerCode(row.getBatterId());
+			pitcherTeam[size] = teamCode(row.getPitcherTeamId());
+			batterTeam[size] = teamCode(row.getBatterTeamId());
+			gameDate[size] = toDateNumber(row.getGameDate());
+			outcome[size] = (byte) AtBatOutcome.resolve(row.getResultCd(), row.getResult()).getCode();
+			size++;
+		}
+
+		private int playerCode(Long playerId) {
+			return playerCodeById.computeIfAbsent(playerId, id -> {
+				playerIds.add(id);
+				return playerIds.size() - 1;
+			});
+		}
+
+		private int teamCode(Long teamId) {
+			return teamCodeById.computeIfAbsent(teamId, id -> {
+				teamIds.add(id);
+				return teamIds.size() - 1;
+			});
+		}
+
+		Snapshot build() {
+			return new Snapshot(this);
+		}
+	}
+}
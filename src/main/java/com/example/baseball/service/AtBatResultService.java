@@ -1,18 +1,32 @@
 package com.example.baseball.service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.baseball.entity.AtBatResult;
+import com.example.baseball.entity.BaseballGame;
 import com.example.baseball.repository.AtBatResultRepository;
+import com.example.baseball.util.BaseballUtil;
 
 @Service
 public class AtBatResultService {
 	@Autowired
 	AtBatResultRepository atBatResultRepository;
-	
+	@Autowired
+	MatchupAggregateService matchupAggregateService;
+	@Autowired
+	HandednessSplitService handednessSplitService;
+	@Autowired
+	VenueSplitService venueSplitService;
+	@Autowired
+	BaseballPlayerHistoryService baseballPlayerHistoryService;
+
     public AtBatResult findById(Long atBatId) {
         return atBatResultRepository.findById(atBatId).orElse(null);
     }
@@ -25,4 +39,32 @@ public class AtBatResultService {
     public List<AtBatResult> saveAtBatResult(List<AtBatResult> atBatResult) {
         return atBatResultRepository.saveAll(atBatResult);
     }
+    public List<Long> findAtBatIdsAfter(Long lastAtBatId, int limit) {
+        return atBatResultRepository.findAtBatIdsAfter(lastAtBatId, limit);
+    }
+
+    /**
+     * 1試合分の打席結果を保存し、同じトランザクションで対戦成績集計・左右別成績・本拠地/球場別成績に加算する
+     * 各選手の所属チームは、ビュー（V_AT_BAT_GAME_DETAILS）や初期データ作成と同じく
+     * 試合日時点の BASEBALL_PLAYER_HISTORY から求める（選手経歴を登録した後に呼び出すこと）。
+     * @param atBatResult 打席結果
+     * @param season 年度
+     * @param baseballGame 保存済みの試合
+     * @return 保存した打席結果
+     */
+    @Transactional
+    public List<AtBatResult> saveAtBatResult(List<AtBatResult> atBatResult, int season, BaseballGame baseballGame) {
+        List<AtBatResult> savedList = atBatResultRepository.saveAll(atBatResult);
+        Set<Long> playerIds = new HashSet<>();
+        for (AtBatResult saved : savedList) {
+            playerIds.add(saved.getBatterId());
+            playerIds.add(saved.getPitcherId());
+        }
+        Map<Long, Long> teamIdByPlayerId = baseballPlayerHistoryService.findTeamIdByPlayerIdOnDate(playerIds,
+                BaseballUtil.toLocalDate(baseballGame.getGameDate()));
+        matchupAggregateService.addAtBatResults(savedList, teamIdByPlayerId, season);
+        handednessSplitService.addAtBatResults(savedList, teamIdByPlayerId, season);
+        venueSplitService.addAtBatResults(savedList, teamIdByPlayerId, season, baseballGame);
+        return savedList;
+    }
 }
@@ -1,17 +1,25 @@
 package com.example.baseball.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.example.baseball.entity.AtBatRowProjection;
 import com.example.baseball.entity.MatchResult;
-import com.example.baseball.entity.VAtBatGameDetails;
-import com.example.baseball.util.BaseballUtil;
+import com.example.baseball.entity.MatchupAggregateProjection;
 
 /**
  * 取得した打席結果を集計して計算する
@@ -20,86 +28,179 @@ import com.example.baseball.util.BaseballUtil;
  */
 @Service
 public class AtBatStatisticsService {
+    @Autowired
+    private NameDictionaryService nameDictionaryService;
 
-    public List<MatchResult> retrieveAtBatResults(List<VAtBatGameDetails> atBatResults, Long pitcherId, Long batterId) {
+    /**
+     * 打席結果を1行ずつ受け取って集計する集計器を作成する
+     * 保持するのはグループごとの集計値のみで、打席結果そのものは保持しない。
+     * 打席結果はIDのみで受け取り、名前等はグループごとに1回だけ辞書から取得する。
+     * @param pitcherId nullの場合は投手ごとに集計
+     * @param batterId nullの場合は打者ごとに集計
+     * @return 集計器
+     */
+    public StreamingMatchResult streamingMatchResult(Long pitcherId, Long batterId) {
         if (pitcherId == null) {
-            return processResults(atBatResults, VAtBatGameDetails::getPitcherId, MatchResult::getPitcherTeamId);
+            return new StreamingMatchResult(AtBatRowProjection::getPitcherId, MatchResult::getPitcherTeamId,
+                    nameDictionaryService);
         } else if (batterId == null) {
-            return processResults(atBatResults, VAtBatGameDetails::getBatterId, MatchResult::getBatterTeamId);
+            return new StreamingMatchResult(AtBatRowProjection::getBatterId, MatchResult::getBatterTeamId,
+                    nameDictionaryService);
         } else {
-            return Collections.singletonList(calcAtBatResult(atBatResults));
+            return new StreamingMatchResult(atBatRow -> 0L, null, nameDictionaryService);
         }
     }
 
-    private List<MatchResult> processResults(List<VAtBatGameDetails> atBatResults, 
-                                             Function<VAtBatGameDetails, Long> groupingFunction,
-                                             Function<MatchResult, Long> sortingFunction) {
-        return atBatResults.stream()
-                .collect(Collectors.groupingBy(groupingFunction))
-                .values()
-                .stream()
-                .map(this::calcAtBatResult)
-                .sorted(Comparator.comparing(sortingFunction)
-                        .thenComparing(Comparator.comparing(MatchResult::getAtBatNumber).reversed()))
-                .collect(Collectors.toList());
+    /**
+     * 打者リスト×投手リストの対戦表を作成する集計器を作成する
+     * 打席結果を1回走査し、打者・投手の組み合わせごとに集計する。
+     * @param batterIds 打者IDリスト（対戦表の行の順）
+     * @param pitcherIds 投手IDリスト（対戦表の列の順）
+     * @return 集計器
+     */
+    public MatchupMatrix matchupMatrix(List<Long> batterIds, List<Long> pitcherIds) {
+        return new MatchupMatrix(batterIds, pitcherIds, nameDictionaryService);
     }
 
-	/**
-	 * 打率等を計算する
-	 * @param atBatResult
-	 * @return
-	 */
-    public MatchResult calcAtBatResult(List<VAtBatGameDetails> atBatResults) {
-        MatchResult matchResult = new MatchResult();
-        VAtBatGameDetails firstRecord = atBatResults.get(0);
-
-        setCommonMatchResultProperties(matchResult, firstRecord, atBatResults);
-
-        matchResult.setBattingAverage(BaseballUtil.calculateBattingAverage(atBatResults));
-        matchResult.setAtBatNumber(atBatResults.size());
-        matchResult.setStrokesNumber(BaseballUtil.calculateStrokesNumber(atBatResults));
-        matchResult.setHitNumber(BaseballUtil.calculateHitNumber(atBatResults));
-        matchResult.setSinglesNumber(BaseballUtil.calculateSinglesNumber(atBatResults));
-        matchResult.setDoublesNumber(BaseballUtil.calculateDoublesNumber(atBatResults));
-        matchResult.setTriplesNumber(BaseballUtil.calculateTriplesNumber(atBatResults));
-        matchResult.setHomeRun(BaseballUtil.calculateHomeRun(atBatResults));
-        matchResult.setBaseHitsNumber(BaseballUtil.calculateBaseHitsNumber(atBatResults));
-        matchResult.setFourBallNumber(BaseballUtil.calculateFourBallNumber(atBatResults));
-        matchResult.setHitBallNumber(BaseballUtil.calculateHitBallNumber(atBatResults));
-        matchResult.setSacrificeFly(BaseballUtil.calculateSacrificeFly(atBatResults));
-        matchResult.setStrikeoutsNumber(BaseballUtil.calculateStrikeoutsNumber(atBatResults));
-        matchResult.setOps(BaseballUtil.calculateOps(atBatResults));
-        matchResult.setOnBasePercentage(BaseballUtil.calculateOnBasePercentage(atBatResults));
-        matchResult.setSluggingPercentage(BaseballUtil.calculateSluggingPercentage(atBatResults));
-        return matchResult;
+    /**
+     * 対戦成績集計（MATCHUP_AGGREGATE）の検索結果から対戦成績を作成する
+     * 集計行は投手・打者・所属チームごとのため、画面の表示単位にまとめ直す。
+     */
+    public List<MatchResult> retrieveAggregateResults(List<MatchupAggregateProjection> aggregates, Long pitcherId, Long batterId) {
+        if (pitcherId == null) {
+            return processResults(aggregates, MatchupAggregateProjection::getPitcherId,
+                    MatchResultAccumulator::of, MatchResultAccumulator::add, MatchResult::getPitcherTeamId);
+        } else if (batterId == null) {
+            return processResults(aggregates, MatchupAggregateProjection::getBatterId,
+                    MatchResultAccumulator::of, MatchResultAccumulator::add, MatchResult::getBatterTeamId);
+        } else {
+            MatchResultAccumulator accumulator = MatchResultAccumulator.of(aggregates.get(0));
+            aggregates.forEach(accumulator::add);
+            return Collections.singletonList(accumulator.toMatchResult());
+        }
     }
 
-    private void setCommonMatchResultProperties(MatchResult matchResult, VAtBatGameDetails firstRecord, List<VAtBatGameDetails> atBatResults) {
-        matchResult.setBatterNm(firstRecord.getBatterNm());
-        matchResult.setBatterNpbUrl(firstRecord.getBatterNpbUrl());
-        
-        Set<Long> uniqueBatterTeamIds = atBatResults.stream()
-                .map(VAtBatGameDetails::getBatterTeamId)
-                .collect(Collectors.toSet());
-        if (uniqueBatterTeamIds.size() > 1) {
-            matchResult.setBatterTeamId(13L);
-            matchResult.setBatterTeamNm("複数");
-        } else {
-            matchResult.setBatterTeamId(firstRecord.getBatterTeamId());
-            matchResult.setBatterTeamNm(firstRecord.getBatterTeamShortNm());
+    /**
+     * 打席結果を1回走査するだけで、グループごとの集計値を作成する
+     */
+    private <T> List<MatchResult> processResults(List<T> rows,
+                                                 Function<T, Long> groupingFunction,
+                                                 Function<T, MatchResultAccumulator> accumulatorFactory,
+                                                 BiConsumer<MatchResultAccumulator, T> accumulateFunction,
+                                                 Function<MatchResult, Long> sortingFunction) {
+        Map<Long, MatchResultAccumulator> groups = new HashMap<>();
+        for (T row : rows) {
+            MatchResultAccumulator group = groups.computeIfAbsent(groupingFunction.apply(row),
+                    key -> accumulatorFactory.apply(row));
+            accumulateFunction.accept(group, row);
         }
-        
-        matchResult.setPitcherNm(firstRecord.getPitcherNm());
-        matchResult.setPitcherNpbUrl(firstRecord.getPitcherNpbUrl());
-        Set<Long> uniquePitcherTeamIds = atBatResults.stream()
-                .map(VAtBatGameDetails::getPitcherTeamId)
-                .collect(Collectors.toSet());
-        if (uniquePitcherTeamIds.size() > 1) {
-            matchResult.setPitcherTeamId(13L);
-            matchResult.setPitcherTeamNm("複数");
-        } else {
-            matchResult.setPitcherTeamId(firstRecord.getPitcherTeamId());
-            matchResult.setPitcherTeamNm(firstRecord.getPitcherTeamShortNm());
+
+        List<MatchResult> matchResults = new ArrayList<>(groups.size());
+        for (MatchResultAccumulator group : groups.values()) {
+            matchResults.add(group.toMatchResult());
+        }
+        return sortResults(matchResults, sortingFunction);
+    }
+
+    /**
+     * チームID順、同じチーム内は打席数の多い順に並べる
+     */
+    static List<MatchResult> sortResults(List<MatchResult> matchResults, Function<MatchResult, Long> sortingFunction) {
+        matchResults.sort(Comparator.comparing(sortingFunction)
+                .thenComparing(Comparator.comparing(MatchResult::getAtBatNumber).reversed()));
+        return matchResults;
+    }
+
+    /**
+     * 打席結果を1行ずつ集計する
+     * 読み込み中はIDのみで集計し、名前等は読み込みが終わった後（getResults）に辞書から取得する。
+     */
+    public static class StreamingMatchResult implements Consumer<AtBatRowProjection> {
+        private final Function<AtBatRowProjection, Long> groupingFunction;
+        private final Function<MatchResult, Long> sortingFunction;
+        private final NameDictionaryService nameDictionaryService;
+        private final Map<Long, MatchResultAccumulator> groups = new LinkedHashMap<>();
+
+        private StreamingMatchResult(Function<AtBatRowProjection, Long> groupingFunction,
+                Function<MatchResult, Long> sortingFunction, NameDictionaryService nameDictionaryService) {
+            this.groupingFunction = groupingFunction;
+            this.sortingFunction = sortingFunction;
+            this.nameDictionaryService = nameDictionaryService;
+        }
+
+        @Override
+        public void accept(AtBatRowProjection atBatRow) {
+            groups.computeIfAbsent(groupingFunction.apply(atBatRow),
+                    key -> MatchResultAccumulator.ofIds(atBatRow))
+                    .add(atBatRow);
+        }
+
+        /**
+         * 集計結果を取得する（打席結果の読み込みが終わった後に呼び出すこと）
+         * @return 対戦成績リスト（対戦がない場合は空リスト）
+         */
+        public List<MatchResult> getResults() {
+            resolveNames(groups.values(), nameDictionaryService);
+            List<MatchResult> matchResults = new ArrayList<>(groups.size());
+            for (MatchResultAccumulator group : groups.values()) {
+                matchResults.add(group.toMatchResult());
+            }
+            return sortingFunction == null ? matchResults : sortResults(matchResults, sortingFunction);
+        }
+    }
+
+    /**
+     * 集計単位ごとの名前等を辞書から設定する。未取得の選手はまとめて取得する。
+     */
+    private static void resolveNames(Collection<MatchResultAccumulator> accumulators,
+            NameDictionaryService nameDictionaryService) {
+        Set<Long> playerIds = new HashSet<>();
+        accumulators.forEach(accumulator -> accumulator.collectPlayerIds(playerIds));
+        nameDictionaryService.preloadPlayers(playerIds);
+        accumulators.forEach(accumulator -> accumulator.resolveNames(nameDictionaryService));
+    }
+
+    /**
+     * 打席結果を打者・投手の組み合わせごとに1行ずつ集計する
+     * 読み込み中はIDのみで集計し、名前等は読み込みが終わった後（getResults）に辞書から取得する。
+     */
+    public static class MatchupMatrix implements Consumer<AtBatRowProjection> {
+        private final List<Long> batterIds;
+        private final List<Long> pitcherIds;
+        private final NameDictionaryService nameDictionaryService;
+        // 打者ID・投手IDの組み合わせごとの集計
+        private final Map<List<Long>, MatchResultAccumulator> cells = new HashMap<>();
+
+        private MatchupMatrix(List<Long> batterIds, List<Long> pitcherIds,
+                NameDictionaryService nameDictionaryService) {
+            this.batterIds = batterIds;
+            this.pitcherIds = pitcherIds;
+            this.nameDictionaryService = nameDictionaryService;
+        }
+
+        @Override
+        public void accept(AtBatRowProjection atBatRow) {
+            cells.computeIfAbsent(List.of(atBatRow.getBatterId(), atBatRow.getPitcherId()),
+                    key -> MatchResultAccumulator.ofIds(atBatRow))
+                    .add(atBatRow);
+        }
+
+        /**
+         * 集計結果を打者リストの順、同じ打者の中は投手リストの順で取得する
+         * @return 対戦成績リスト（対戦がない組み合わせは含まない）
+         */
+        public List<MatchResult> getResults() {
+            resolveNames(cells.values(), nameDictionaryService);
+            List<MatchResult> matchResults = new ArrayList<>(cells.size());
+            for (Long batterId : batterIds) {
+                for (Long pitcherId : pitcherIds) {
+                    MatchResultAccumulator cell = cells.get(List.of(batterId, pitcherId));
+                    if (cell != null) {
+                        matchResults.add(cell.toMatchResult());
+                    }
+                }
+            }
+            return matchResults;
         }
     }
 }
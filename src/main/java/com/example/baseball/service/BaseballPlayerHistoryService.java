@@ -1,5 +1,10 @@
 package com.example.baseball.service;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +19,8 @@ public class BaseballPlayerHistoryService {
 
     @Autowired
     private BaseballPlayerHistoryRepository baseballPlayerHistoryRepository;
+    @Autowired
+    private RosterIndexService rosterIndexService;
 
     /**
      * プレイヤーIDとチームIDで選手経歴を検索します。
@@ -60,6 +67,25 @@ public class BaseballPlayerHistoryService {
         return baseballPlayerHistoryRepository.findByPlayerIdAndTeamIdAndStartDateYear(playerId, teamId, year);
     }
 
+    /**
+     * 試合日時点の所属チームを取得します（V_AT_BAT_GAME_DETAILS と同じく BASEBALL_PLAYER_HISTORY から求める）。
+     * 同じ日に複数の経歴がある場合は開始日の新しいものを使用します。
+     *
+     * @param playerIds 選手ID
+     * @param gameDate  試合日
+     * @return 選手IDごとの所属チームID（経歴がない選手は含まない）
+     */
+    public Map<Long, Long> findTeamIdByPlayerIdOnDate(Collection<Long> playerIds, LocalDate gameDate) {
+        Map<Long, Long> teamIdByPlayerId = new HashMap<>();
+        if (playerIds.isEmpty()) {
+            return teamIdByPlayerId;
+        }
+        for (BaseballPlayerHistory history : baseballPlayerHistoryRepository.findByPlayerIdsOnDate(playerIds, gameDate)) {
+            teamIdByPlayerId.put(history.getPlayerId(), history.getTeamId());
+        }
+        return teamIdByPlayerId;
+    }
+
     /**
      * 選手経歴を保存または更新します。
      *
@@ -67,6 +93,9 @@ public class BaseballPlayerHistoryService {
      * @return 保存または更新された BaseballPlayerHistory エンティティ
      */
     public BaseballPlayerHistory saveBaseballPlayerHistory(BaseballPlayerHistory baseballPlayerHistory) {
-        return baseballPlayerHistoryRepository.save(baseballPlayerHistory);
+        BaseballPlayerHistory saved = baseballPlayerHistoryRepository.save(baseballPlayerHistory);
+        // 選手一覧の索引を作り直す
+        rosterIndexService.invalidate();
+        return saved;
     }
 }
@@ -18,6 +18,9 @@ public class BaseballPlayerService {
 		return baseballPlayerRepository.findAll();
 	}
 	
+	public List<BaseballPlayer> findAllById(Iterable<Long> playerIds) {
+		return baseballPlayerRepository.findAllById(playerIds);
+	}
 	public BaseballPlayer findById(Long playerId) {
 		return baseballPlayerRepository.findById(playerId).orElse(null);
 	}
@@ -0,0 +1,129 @@
+package com.example.baseball.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.baseball.entity.DataVersion;
+import com.example.baseball.event.DataVersionChangedEvent;
+import com.example.baseball.repository.DataVersionRepository;
+
+/**
+ * データ更新バージョンを管理する
+ * スクレイパーの取り込み完了時に bump() で加算し、画面APIは getVersion() の値で ETag を作成する。
+ * スクレイパーは別プロセスのため、DBの値を一定間隔で確認し、変わっていれば DataVersionChangedEvent を発行する。
+ * 確認とイベントの処理（キャッシュの破棄、打席結果の差分ロード等）はバックグラウンドで行い、
+ * 処理が終わるまでは古いバージョンのまま（古いデータ・ETagのまま）応答する。
+ */
+@Service
+public class DataVersionService {
+
+	private static final Logger log = LoggerFactory.getLogger(DataVersionService.class);
+
+	private static final Integer DATA_VERSION_ID = 1;
+
+	// DBの値を確認する間隔（ミリ秒）
+	@Value("${baseball.data-version.check-interval-ms:10000}")
+	private long checkIntervalMs;
+
+	@Autowired
+	private DataVersionRepository dataVersionRepository;
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	private final ExecutorService checker = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "data-version-check");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicBoolean checking = new AtomicBoolean();
+
+	private volatile long version = -1L;
+	private volatile long checkedAt;
+
+	/**
+	 * 現在のバージョンを取得する
+	 * 確認の間隔を過ぎている場合は、バックグラウンドでDBの値を確認する（呼び出し元は待たない）。
+	 * @return バージョン（DATA_VERSION が未作成の場合は0）
+	 */
+	public long getVersion() {
+		if (version < 0) {
+			initialize();
+		} else if (System.currentTimeMillis() - checkedAt > checkIntervalMs) {
+			requestCheck();
+		}
+		return version;
+	}
+
+	/**
+	 * バージョンを加算する（データの取り込み完了時に呼び出す）
+	 */
+	@Transactional
+	public void bump() {
+		if (dataVersionRepository.increment(DATA_VERSION_ID) == 0) {
+			dataVersionRepository.save(new DataVersion(DATA_VERSION_ID, 1L, LocalDateTime.now()));
+		}
+		checkedAt = 0L;
+	}
+
+	/**
+	 * 初回のみ呼び出し元のスレッドでロードする（イベントは発行しない）
+	 */
+	private synchronized void initialize() {
+		if (version >= 0) {
+			return;
+		}
+		version = load();
+		checkedAt = System.currentTimeMillis();
+	}
+
+	/**
+	 * DBの値の確認をバックグラウンドで要求する。確認中の場合は何もしない。
+	 */
+	private void requestCheck() {
+		if (!checking.compareAndSet(false, true)) {
+			return;
+		}
+		checker.execute(() -> {
+			try {
+				check();
+			} catch (RuntimeException e) {
+				log.error("データ更新バージョンの確認に失敗しました", e);
+			} finally {
+				checkedAt = System.currentTimeMillis();
+				checking.set(false);
+			}
+		});
+	}
+
+	private void check() {
+		long loaded = load();
+		if (loaded == version) {
+			return;
+		}
+		// イベントの処理（キャッシュの破棄、打席結果の差分ロード）が終わるまで新しいバージョンは公開しない
+		try {
+			eventPublisher.publishEvent(new DataVersionChangedEvent(loaded));
+		} catch (RuntimeException e) {
+			// 処理に失敗したものは各自の定期的な再ロードに任せ、バージョンは更新する（失敗し続けないため）
+			log.error("データ更新イベントの処理に失敗しました: version={}", loaded, e);
+		} finally {
+			version = loaded;
+		}
+	}
+
+	private long load() {
+		return dataVersionRepository.findById(DATA_VERSION_ID)
+				.map(DataVersion::getVersionNo)
+				.orElse(0L);
+	}
+}
@@ -0,0 +1,111 @@
+package com.example.baseball.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.baseball.entity.AtBatResult;
+import com.example.baseball.entity.BaseballPlayer;
+import com.example.baseball.entity.HandednessSplit;
+import com.example.baseball.entity.HandednessSplitProjection;
+import com.example.baseball.entity.SplitResult;
+import com.example.baseball.entity.StatLine;
+import com.example.baseball.repository.HandednessSplitRepository;
+import com.example.baseball.util.AtBatOutcome;
+import com.example.baseball.util.BaseballUtil;
+
+/**
+ * 左右別成績（対右投手・対左投手、対右打者・対左打者・対両打者）の集計を管理する
+ * 打席結果の取り込み時に加算し、検索時は選手の集計行（最大で立場2×投打4行／年度）のみを参照する。
+ */
+@Service
+public class HandednessSplitService {
+	@Autowired
+	private HandednessSplitRepository handednessSplitRepository;
+	@Autowired
+	private BaseballPlayerService baseballPlayerService;
+
+	/**
+	 * 1試合分の打席結果を左右別成績に加算する
+	 * 呼び出し元のトランザクション内で実行すること（AtBatResultService.saveAtBatResult）。
+	 * @param atBatResults 打席結果
+	 * @param teamIdByPlayerId 選手IDごとの試合日時点の所属チームID（BASEBALL_PLAYER_HISTORY）
+	 * @param season 年度
+	 */
+	public void addAtBatResults(List<AtBatResult> atBatResults, Map<Long, Long> teamIdByPlayerId, int season) {
+		Set<Long> playerIds = new HashSet<>();
+		for (AtBatResult atBatResult : atBatResults) {
+			playerIds.add(atBatResult.getPitcherId());
+			playerIds.add(atBatResult.getBatterId());
+		}
+		Map<Long, BaseballPlayer> playerById = new HashMap<>();
+		for (BaseballPlayer player : baseballPlayerService.findAllById(playerIds)) {
+			playerById.put(player.getPlayerId(), player);
+		}
+
+		// 同じ集計キーの打席をまとめてから加算し、更新回数を抑える
+		Map<HandednessSplit.Key, StatLine> statLineByKey = new LinkedHashMap<>();
+		for (AtBatResult atBatResult : atBatResults) {
+			// 対戦成績集計と同じく、所属チームが特定できない打席は集計しない
+			if (teamIdByPlayerId.get(atBatResult.getPitcherId()) == null
+					|| teamIdByPlayerId.get(atBatResult.getBatterId()) == null) {
+				continue;
+			}
+			AtBatOutcome outcome = AtBatOutcome.resolve(atBatResult.getResultCd(), atBatResult.getResult());
+			BaseballPlayer pitcher = playerById.get(atBatResult.getPitcherId());
+			BaseballPlayer batter = playerById.get(atBatResult.getBatterId());
+			statLineByKey.computeIfAbsent(new HandednessSplit.Key(atBatResult.getBatterId(), season,
+					HandednessSplit.ROLE_BATTER, toHand(pitcher == null ? null : pitcher.getThrower())),
+					k -> new StatLine()).add(outcome);
+			statLineByKey.computeIfAbsent(new HandednessSplit.Key(atBatResult.getPitcherId(), season,
+					HandednessSplit.ROLE_PITCHER, toHand(batter == null ? null : batter.getHanded())),
+					k -> new StatLine()).add(outcome);
+		}
+		statLineByKey.forEach((key, statLine) -> handednessSplitRepository.upsert(
+				key.getPlayerId(), key.getSeason(), key.getRole(), key.getOpponentHand(), statLine));
+	}
+
+	/**
+	 * 選手の左右別成績を取得する
+	 * @param playerId
+	 * @param selectedYear 年度（"通算"の場合は全期間）
+	 * @return 立場、相手の投打順の左右別成績
+	 */
+	public List<SplitResult> findSplits(Long playerId, String selectedYear) {
+		List<SplitResult> splitResults = new ArrayList<>();
+		for (HandednessSplitProjection split : handednessSplitRepository.findSplits(playerId,
+				BaseballUtil.parseSeason(selectedYear))) {
+			splitResults.add(SplitResult.of(split.getRole(), split.getOpponentHand(),
+					toSplitNm(split.getRole(), split.getOpponentHand()), split.toStatLine()));
+		}
+		return splitResults;
+	}
+
+	private static String toHand(String hand) {
+		return hand == null || hand.isEmpty() ? HandednessSplit.HAND_UNKNOWN : hand;
+	}
+
+	/**
+	 * 相手の投打の表示名（打者として: 相手投手の投げ手、投手として: 相手打者の打ち手）
+	 */
+	private static String toSplitNm(String role, String opponentHand) {
+		boolean batter = HandednessSplit.ROLE_BATTER.equals(role);
+		switch (opponentHand) {
+		case "0":
+			return batter ? "対右投手" : "対右打者";
+		case "1":
+			return batter ? "対左投手" : "対左打者";
+		case "2":
+			return batter ? "対両投手" : "対両打者";
+		default:
+			return "不明";
+		}
+	}
+}
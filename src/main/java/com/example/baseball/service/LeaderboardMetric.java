@@ -0,0 +1,55 @@
+package com.example.baseball.service;
+
+import com.example.baseball.entity.StatLine;
+
+/**
+ * ランキングの指標
+ * 並べ替えには件数から直接求めた値を使用し、表示用の率（小数点以下3桁）の丸めは行わない。
+ */
+public enum LeaderboardMetric {
+
+    /** 打率 */
+    AVG {
+        @Override
+        double valueOf(StatLine statLine) {
+            return ratio(statLine.getHitNumber(), statLine.getStrokesNumber());
+        }
+    },
+    /** 出塁率 */
+    OBP {
+        @Override
+        double valueOf(StatLine statLine) {
+            return ratio(statLine.getOnBaseNumber(), statLine.getAtBatNumber());
+        }
+    },
+    /** 長打率 */
+    SLG {
+        @Override
+        double valueOf(StatLine statLine) {
+            return ratio(statLine.getBaseHitsNumber(), statLine.getStrokesNumber());
+        }
+    },
+    /** OPS */
+    OPS {
+        @Override
+        double valueOf(StatLine statLine) {
+            return OBP.valueOf(statLine) + SLG.valueOf(statLine);
+        }
+    },
+    /** 三振率（三振数 / 打席数） */
+    K {
+        @Override
+        double valueOf(StatLine statLine) {
+            return ratio(statLine.getStrikeoutsNumber(), statLine.getAtBatNumber());
+        }
+    };
+
+    /**
+     * 集計値から指標の値を求める
+     */
+    abstract double valueOf(StatLine statLine);
+
+    private static double ratio(int numerator, int denominator) {
+        return denominator == 0 ? 0 : (double) numerator / denominator;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.baseball.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.baseball.entity.MatchResult;
+import com.example.baseball.entity.MatchupAggregateProjection;
+import com.example.baseball.entity.StatLine;
+
+/**
+ * 対戦成績のランキング（例: 投手Xに対するOPS上位の打者、チームYに対する三振率上位の投手）を取得する
+ *
+ * 対戦成績集計（MATCHUP_AGGREGATE）を選手ごとにまとめ、件数Kの二分ヒープで上位のみを保持する。
+ * 全選手の対戦成績を作成して並べ替えることはせず、画面返却用の対戦成績は上位K件分だけ作成する。
+ */
+@Service
+public class LeaderboardService {
+
+	@Autowired
+	private MatchupAggregateService matchupAggregateService;
+
+	/**
+	 * 対戦成績のランキングを取得する
+	 * @param pitcherTeamId
+	 * @param batterTeamId
+	 * @param pitcherId
+	 * @param batterId
+	 * @param selectedYear 年度（"通算"の場合は全期間）
+	 * @param rankPitchers true の場合は投手ごと、false の場合は打者ごとに順位をつける
+	 * @param metric 指標
+	 * @param ascending true の場合は指標の小さい順（投手の被OPSなど）
+	 * @param minAtBats 最低打席数
+	 * @param limit 取得件数
+	 * @return 順位順の対戦成績リスト（同じ値の場合は打席数の多い順）。
+	 *         順位をつけない側の選手は、パラメータで指定した場合のみ設定する（未指定の場合は複数の選手の合計のためnull）
+	 */
+	public List<MatchResult> findLeaders(Long pitcherTeamId, Long batterTeamId, Long pitcherId, Long batterId,
+			String selectedYear, boolean rankPitchers, LeaderboardMetric metric, boolean ascending,
+			int minAtBats, int limit) {
+		if (limit <= 0) {
+			return Collections.emptyList();
+		}
+		List<MatchupAggregateProjection> aggregates = matchupAggregateService.findMatchupAggregate(
+				pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear);
+
+		// 選手ごとに集計する（順位をつける側の選手IDでまとめる）
+		Map<Long, MatchResultAccumulator> groups = new HashMap<>();
+		for (MatchupAggregateProjection aggregate : aggregates) {
+			Long playerId = rankPitchers ? aggregate.getPitcherId() : aggregate.getBatterId();
+			groups.computeIfAbsent(playerId, key -> MatchResultAccumulator.of(aggregate)).add(aggregate);
+		}
+
+		// 順位の高い順の比較（指標 → 打席数の多い順 → 選手IDの小さい順）
+		Comparator<Candidate> ranking = Comparator.comparingDouble(candidate -> candidate.value);
+		if (!ascending) {
+			ranking = ranking.reversed();
+		}
+		ranking = ranking.thenComparing(Comparator.<Candidate>comparingInt(candidate -> candidate.atBatNumber).reversed())
+				.thenComparingLong(candidate -> candidate.playerId);
+
+		// 先頭が現在の上位K件のうち最も順位の低いものになるヒープ
+		PriorityQueue<Candidate> heap = new PriorityQueue<>(limit + 1, ranking.reversed());
+		for (Map.Entry<Long, MatchResultAccumulator> group : groups.entrySet()) {
+			StatLine statLine = group.getValue().getStatLine();
+			if (statLine.getAtBatNumber() < minAtBats) {
+				continue;
+			}
+			Candidate candidate = new Candidate(group.getKey(), metric.valueOf(statLine),
+					statLine.getAtBatNumber(), group.getValue());
+			if (heap.size() < limit) {
+				heap.add(candidate);
+			} else if (ranking.compare(candidate, heap.peek()) < 0) {
+				heap.poll();
+				heap.add(candidate);
+			}
+		}
+
+		// ヒープから順位の低い順に取り出し、逆順に並べる
+		boolean opponentFixed = rankPitchers ? batterId != null : pitcherId != null;
+		MatchResult[] leaders = new MatchResult[heap.size()];
+		for (int i = leaders.length - 1; i >= 0; i--) {
+			leaders[i] = heap.poll().accumulator.toMatchResult();
+			if (!opponentFixed) {
+				clearOpponent(leaders[i], rankPitchers);
+			}
+		}
+		List<MatchResult> matchResults = new ArrayList<>(leaders.length);
+		Collections.addAll(matchResults, leaders);
+		return matchResults;
+	}
+
+	/**
+	 * 順位をつけない側の選手を消す（集計の先頭の選手が設定されているため）
+	 * チームは集計単位内で同じ場合はそのチーム、異なる場合は「複数」のまま残す。
+	 */
+	private static void clearOpponent(MatchResult matchResult, boolean rankPitchers) {
+		if (rankPitchers) {
+			matchResult.setBatterId(null);
+			matchResult.setBatterNm(null);
+			matchResult.setBatterNpbUrl(null);
+		} else {
+			matchResult.setPitcherId(null);
+			matchResult.setPitcherNm(null);
+			matchResult.setPitcherNpbUrl(null);
+		}
+	}
+
+	/**
+	 * ランキングの候補
+	 */
+	private static final class Candidate {
+		private final long playerId;
+		private final double value;
+		private final int atBatNumber;
+		private final MatchResultAccumulator accumulator;
+
+		private Candidate(long playerId, double value, int atBatNumber, MatchResultAccumulator accumulator) {
+			this.playerId = playerId;
+			this.value = value;
+			this.atBatNumber = atBatNumber;
+			this.accumulator = accumulator;
+		}
+	}
+}
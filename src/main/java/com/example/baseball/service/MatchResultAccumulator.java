@@ -0,0 +1,186 @@
+package com.example.baseball.service;
+
+import java.util.Collection;
+import java.util.Objects;
+
+import com.example.baseball.entity.AtBatRowProjection;
+import com.example.baseball.entity.BaseballPlayer;
+import com.example.baseball.entity.BaseballTeam;
+import com.example.baseball.entity.MatchResult;
+import com.example.baseball.entity.MatchupAggregateProjection;
+import com.example.baseball.entity.StatLine;
+import com.example.baseball.util.AtBatOutcome;
+
+/**
+ * 対戦成績の表示単位（投手ごと、打者ごと、または1対1）の集計
+ * 打者名・投手名等はグループの先頭レコードから取得し、チームは複数あれば「複数」とする。
+ */
+class MatchResultAccumulator {
+
+    // 複数チームに所属していた場合のチームIDとチーム名
+    static final Long MULTIPLE_TEAM_ID = 13L;
+    static final String MULTIPLE_TEAM_NM = "複数";
+
+    private final MatchResult header = new MatchResult();
+    private final StatLine statLine = new StatLine();
+    private boolean multipleBatterTeams;
+    private boolean multiplePitcherTeams;
+
+    MatchResultAccumulator(Long batterId, String batterNm, String batterNpbUrl, Long batterTeamId,
+            String batterTeamNm, Long pitcherId, String pitcherNm, String pitcherNpbUrl, Long pitcherTeamId,
+            String pitcherTeamNm) {
+        header.setBatterId(batterId);
+        header.setBatterNm(batterNm);
+        header.setBatterNpbUrl(batterNpbUrl);
+        header.setBatterTeamId(batterTeamId);
+        header.setBatterTeamNm(batterTeamNm);
+        header.setPitcherId(pitcherId);
+        header.setPitcherNm(pitcherNm);
+        header.setPitcherNpbUrl(pitcherNpbUrl);
+        header.setPitcherTeamId(pitcherTeamId);
+        header.setPitcherTeamNm(pitcherTeamNm);
+    }
+
+    static MatchResultAccumulator of(MatchupAggregateProjection firstRecord) {
+        return new MatchResultAccumulator(firstRecord.getBatterId(), firstRecord.getBatterNm(),
+                firstRecord.getBatterNpbUrl(), firstRecord.getBatterTeamId(), firstRecord.getBatterTeamShortNm(),
+                firstRecord.getPitcherId(), firstRecord.getPitcherNm(), firstRecord.getPitcherNpbUrl(),
+                firstRecord.getPitcherTeamId(), firstRecord.getPitcherTeamShortNm());
+    }
+
+    /**
+     * 選手ID・チームIDから作成する。名前・NPB URL・チーム略称は辞書から取得する。
+     */
+    static MatchResultAccumulator of(Long batterId, Long batterTeamId, Long pitcherId, Long pitcherTeamId,
+            NameDictionaryService nameDictionaryService) {
+        MatchResultAccumulator accumulator = new MatchResultAccumulator(batterId, null, null, batterTeamId, null,
+                pitcherId, null, null, pitcherTeamId, null);
+        accumulator.resolveNames(nameDictionaryService);
+        return accumulator;
+    }
+
+    /**
+     * 選手ID・チームIDのみで作成する。名前・NPB URL・チーム略称は集計後に resolveNames で設定する。
+     * 打席結果を1行ずつ読み込んでいる間（ストリーミング中の結果セットがあるコネクション）は辞書からDBを参照できないため使用する。
+     */
+    static MatchResultAccumulator ofIds(AtBatRowProjection firstRecord) {
+        return new MatchResultAccumulator(firstRecord.getBatterId(), null, null, firstRecord.getBatterTeamId(), null,
+                firstRecord.getPitcherId(), null, null, firstRecord.getPitcherTeamId(), null);
+    }
+
+    /**
+     * 打者・投手の選手IDを追加する（辞書の先読み用）
+     */
+    void collectPlayerIds(Collection<Long> playerIds) {
+        playerIds.add(header.getBatterId());
+        playerIds.add(header.getPitcherId());
+    }
+
+    /**
+     * 名前・NPB URL・チーム略称を辞書から設定する
+     */
+    void resolveNames(NameDictionaryService nameDictionaryService) {
+        BaseballPlayer batter = nameDictionaryService.getPlayer(header.getBatterId());
+        BaseballTeam batterTeam = nameDictionaryService.getTeam(header.getBatterTeamId());
+        BaseballPlayer pitcher = nameDictionaryService.getPlayer(header.getPitcherId());
+        BaseballTeam pitcherTeam = nameDictionaryService.getTeam(header.getPitcherTeamId());
+        header.setBatterNm(batter == null ? null : batter.getPlayerNm());
+        header.setBatterNpbUrl(batter == null ? null : batter.getNpbUrl());
+        header.setBatterTeamNm(batterTeam == null ? null : batterTeam.getTeamShotNm());
+        header.setPitcherNm(pitcher == null ? null : pitcher.getPlayerNm());
+        header.setPitcherNpbUrl(pitcher == null ? null : pitcher.getNpbUrl());
+        header.setPitcherTeamNm(pitcherTeam == null ? null : pitcherTeam.getTeamShotNm());
+    }
+
+    static MatchResultAccumulator of(AtBatRowProjection firstRecord, NameDictionaryService nameDictionaryService) {
+        return of(firstRecord.getBatterId(), firstRecord.getBatterTeamId(),
+                firstRecord.getPitcherId(), firstRecord.getPitcherTeamId(), nameDictionaryService);
+    }
+
+    void add(AtBatRowProjection atBatRow) {
+        add(AtBatOutcome.resolve(atBatRow.getResultCd(), atBatRow.getResult()),
+                atBatRow.getBatterTeamId(), atBatRow.getPitcherTeamId());
+    }
+
+    void add(MatchupAggregateProjection aggregate) {
+        merge(aggregate.toStatLine(), aggregate.getBatterTeamId(), aggregate.getPitcherTeamId());
+    }
+
+    /**
+     * 1打席分の結果を加算する
+     */
+    void add(AtBatOutcome outcome, Long batterTeamId, Long pitcherTeamId) {
+        statLine.add(outcome);
+        addTeams(batterTeamId, pitcherTeamId);
+    }
+
+    /**
+     * 集計済みの件数を加算する
+     */
+    void merge(StatLine other, Long batterTeamId, Long pitcherTeamId) {
+        statLine.merge(other);
+        addTeams(batterTeamId, pitcherTeamId);
+    }
+
+    private void addTeams(Long batterTeamId, Long pitcherTeamId) {
+        if (!Objects.equals(header.getBatterTeamId(), batterTeamId)) {
+            multipleBatterTeams = true;
+        }
+        if (!Objects.equals(header.getPitcherTeamId(), pitcherTeamId)) {
+            multiplePitcherTeams = true;
+        }
+    }
+
+    /**
+     * ここまでの集計値
+     */
+    StatLine getStatLine() {
+        return statLine;
+    }
+
+    MatchResult toMatchResult() {
+        MatchResult matchResult = new MatchResult();
+        matchResult.setBatterId(header.getBatterId());
+        matchResult.setBatterNm(header.getBatterNm());
+        matchResult.setBatterNpbUrl(header.getBatterNpbUrl());
+        if (multipleBatterTeams) {
+            matchResult.setBatterTeamId(MULTIPLE_TEAM_ID);
+            matchResult.setBatterTeamNm(MULTIPLE_TEAM_NM);
+        } else {
+            matchResult.setBatterTeamId(header.getBatterTeamId());
+            matchResult.setBatterTeamNm(header.getBatterTeamNm());
+        }
+
+        matchResult.setPitcherId(header.getPitcherId());
+        matchResult.setPitcherNm(header.getPitcherNm());
+        matchResult.setPitcherNpbUrl(header.getPitcherNpbUrl());
+        if (multiplePitcherTeams) {
+            matchResult.setPitcherTeamId(MULTIPLE_TEAM_ID);
+            matchResult.setPitcherTeamNm(MULTIPLE_TEAM_NM);
+        } else {
+            matchResult.setPitcherTeamId(header.getPitcherTeamId());
+            matchResult.setPitcherTeamNm(header.getPitcherTeamNm());
+        }
+
+        setStatLine(matchResult, statLine);
+        return matchResult;
+    }
+
+    /**
+     * 集計値を画面返却用の対戦成績に詰め替える。打率等の率はMatchResult側で件数から導出する。
+     */
+    static void setStatLine(MatchResult matchResult, StatLine statLine) {
+        matchResult.setAtBatNumber(statLine.getAtBatNumber());
+        matchResult.setStrokesNumber(statLine.getStrokesNumber());
+        matchResult.setHitNumber(statLine.getHitNumber());
+        matchResult.setSinglesNumber(statLine.getSinglesNumber());
+        matchResult.setDoublesNumber(statLine.getDoublesNumber());
+        matchResult.setTriplesNumber(statLine.getTriplesNumber());
+        matchResult.setHomeRun(statLine.getHomeRun());
+        matchResult.setBaseHitsNumber(statLine.getBaseHitsNumber());
+        matchResult.setFourBallNumber(statLine.getFourBallNumber());
+        matchResult.setHitBallNumber(statLine.getHitBallNumber());
+        matchResult.setSacrificeFly(statLine.getSacrificeFly());
+        matchResult.setStrikeoutsNumber(statLine.getStrikeoutsNumber());
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.baseball.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.baseball.entity.MatchResult;
+import com.example.baseball.entity.MatchupAggregateProjection;
+import com.example.baseball.service.AtBatStatisticsService.MatchupMatrix;
+import com.example.baseball.service.AtBatStatisticsService.StreamingMatchResult;
+import com.example.baseball.util.BaseballUtil;
+
+/**
+ * 投手VS野手の対戦成績を検索する
+ * 取得元は baseball.match-result.source で切り替える。
+ *   memory    : メモリ上の打席結果（AtBatColumnStore）。ロード完了前は aggregate と同じ
+ *   aggregate : 対戦成績集計（MATCHUP_AGGREGATE）。年度単位の集計のため、期間指定がある場合は view と同じ
+ *   view      : 打席結果のビューから都度集計
+ * 同じ条件の検索が同時に実行された場合は、最初の検索の結果を共有する（DBへの問い合わせは条件ごとに1回）。
+ */
+@Service
+public class MatchResultSearchService {
+
+	// 対戦成績の取得元
+	private static final String SOURCE_MEMORY = "memory";
+	private static final String SOURCE_VIEW = "view";
+
+	@Value("${baseball.match-result.source:aggregate}")
+	private String source;
+
+	// view の場合に、投手ごと・打者ごとの集計をDB側（GROUP BY）で行うか
+	@Value("${baseball.match-result.database-aggregation:true}")
+	private boolean databaseAggregation;
+
+	@Autowired
+	private AtBatColumnStore atBatColumnStore;
+	@Autowired
+	private MatchupAggregateService matchupAggregateService;
+	@Autowired
+	private VAtBatGameDetailsService vAtBatGameDetailsService;
+	@Autowired
+	private AtBatStatisticsService atBatStatisticsService;
+	@Autowired
+	private MatchupExistenceIndex matchupExistenceIndex;
+
+	// 実行中の検索（キーは正規化した検索条件）
+	private final Map<String, CompletableFuture<List<MatchResult>>> inFlightSearches = new ConcurrentHashMap<>();
+
+	/**
+	 * チームID、選手ID、年度のパラメータによって対戦成績を取得する
+	 * @param pitcherTeamId
+	 * @param batterTeamId
+	 * @param pitcherId
+	 * @param batterId
+	 * @param selectedYear
+	 * @param fromDate 期間の開始日（nullの場合は指定なし）
+	 * @param toDate 期間の終了日（nullの場合は指定なし）
+	 * @return 対戦成績リスト（対戦がない場合は空リスト）
+	 */
+	public List<MatchResult> search(Long pitcherTeamId, Long batterTeamId, Long pitcherId, Long batterId,
+			String selectedYear, LocalDate fromDate, LocalDate toDate) {
+		// 対戦のない投手・打者の組み合わせはDBに問い合わせない
+		if (matchupExistenceIndex.isDefinitelyAbsent(pitcherId, batterId, selectedYear)) {
+			return Collections.emptyList();
+		}
+		String key = toKey(pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear) + ":" + fromDate + ":" + toDate;
+		CompletableFuture<List<MatchResult>> future = new CompletableFuture<>();
+		CompletableFuture<List<MatchResult>> inFlight = inFlightSearches.putIfAbsent(key, future);
+		if (inFlight != null) {
+			return await(inFlight);
+		}
+		try {
+			List<MatchResult> matchResults = Collections.unmodifiableList(
+					doSearch(pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear, fromDate, toDate));
+			future.complete(matchResults);
+			return matchResults;
+		} catch (RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightSearches.remove(key, future);
+		}
+	}
+
+	private List<MatchResult> doSearch(Long pitcherTeamId, Long batterTeamId, Long pitcherId, Long batterId,
+			String selectedYear, LocalDate fromDate, LocalDate toDate) {
+		if (SOURCE_MEMORY.equals(source) && atBatColumnStore.isReady()) {
+			return atBatColumnStore.search(pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear,
+					fromDate, toDate);
+		}
+		if (SOURCE_VIEW.equals(source) || fromDate != null || toDate != null) {
+			// 投手ごと・打者ごとの集計はDB側で行い、それ以外は打席結果を1行ずつ読み込んで集計する
+			if (databaseAggregation && (pitcherId == null || batterId == null)) {
+				return vAtBatGameDetailsService.aggregateMatchResults(
+						pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear, fromDate, toDate);
+			}
+			StreamingMatchResult streamingMatchResult = atBatStatisticsService.streamingMatchResult(pitcherId, batterId);
+			vAtBatGameDetailsService.streamByBatterAndPitcher(
+					pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear, fromDate, toDate,
+					streamingMatchResult);
+			return streamingMatchResult.getResults();
+		}
+
+		List<MatchupAggregateProjection> aggregates = matchupAggregateService.findMatchupAggregate(
+				pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear);
+		if (aggregates.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return atBatStatisticsService.retrieveAggregateResults(aggregates, pitcherId, batterId);
+	}
+
+	/**
+	 * 打者リスト×投手リストの対戦表を取得する
+	 * 全組み合わせの打席結果を1回のクエリで読み込み、1回の走査で組み合わせごとに集計する。
+	 * @param batterIds 打者IDリスト
+	 * @param pitcherIds 投手IDリスト
+	 * @param selectedYear 年度（"通算"の場合は全期間）
+	 * @return 対戦成績リスト（打者リストの順、同じ打者の中は投手リストの順。対戦がない組み合わせは含まない）
+	 */
+	public List<MatchResult> searchMatrix(List<Long> batterIds, List<Long> pitcherIds, String selectedYear) {
+		List<Long> distinctBatterIds = new ArrayList<>(new LinkedHashSet<>(batterIds));
+		List<Long> distinctPitcherIds = new ArrayList<>(new LinkedHashSet<>(pitcherIds));
+		if (distinctBatterIds.isEmpty() || distinctPitcherIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+		MatchupMatrix matchupMatrix = atBatStatisticsService.matchupMatrix(distinctBatterIds, distinctPitcherIds);
+		vAtBatGameDetailsService.streamByBattersAndPitchers(distinctPitcherIds, distinctBatterIds, selectedYear,
+				matchupMatrix);
+		return matchupMatrix.getResults();
+	}
+
+	/**
+	 * 実行中の検索の結果を待つ。検索が例外で終了した場合は同じ例外を送出する。
+	 */
+	private static List<MatchResult> await(CompletableFuture<List<MatchResult>> inFlight) {
+		try {
+			return inFlight.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * 検索条件を正規化したキー（チームIDの未指定と0は全チーム、年度の未指定と"通算"は全期間として同じ扱い）
+	 */
+	private static String toKey(Long pitcherTeamId, Long batterTeamId, Long pitcherId, Long batterId,
+			String selectedYear) {
+		return (pitcherTeamId == null ? 0L : pitcherTeamId) + ":" + (batterTeamId == null ? 0L : batterTeamId)
+				+ ":" + pitcherId + ":" + batterId + ":"
+				+ (selectedYear == null || selectedYear.isEmpty() ? BaseballUtil.CAREER : selectedYear);
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.baseball.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.baseball.entity.AtBatResult;
+import com.example.baseball.entity.MatchupAggregate;
+import com.example.baseball.entity.MatchupAggregateProjection;
+import com.example.baseball.entity.MatchupSeasonProjection;
+import com.example.baseball.entity.StatLine;
+import com.example.baseball.repository.MatchupAggregateRepository;
+import com.example.baseball.util.AtBatOutcome;
+import com.example.baseball.util.BaseballUtil;
+
+/**
+ * 投手VS打者の対戦成績集計を管理する
+ * 打席結果の取り込み時に加算し、対戦成績の検索時は集計行のみを参照する。
+ */
+@Service
+public class MatchupAggregateService {
+	@Autowired
+	private MatchupAggregateRepository matchupAggregateRepository;
+
+	/**
+	 * 1試合分の打席結果を対戦成績集計に加算する
+	 * 呼び出し元のトランザクション内で実行すること（AtBatResultService.saveAtBatResult）。
+	 * @param atBatResults 打席結果
+	 * @param teamIdByPlayerId 選手IDごとの試合日時点の所属チームID（BASEBALL_PLAYER_HISTORY）
+	 * @param season 年度
+	 */
+	public void addAtBatResults(List<AtBatResult> atBatResults, Map<Long, Long> teamIdByPlayerId, int season) {
+		// 同じ対戦の打席をまとめてから加算し、更新回数を対戦の組み合わせ数に抑える
+		Map<MatchupAggregate.Key, StatLine> statLineByKey = new LinkedHashMap<>();
+		for (AtBatResult atBatResult : atBatResults) {
+			Long pitcherTeamId = teamIdByPlayerId.get(atBatResult.getPitcherId());
+			Long batterTeamId = teamIdByPlayerId.get(atBatResult.getBatterId());
+			// 試合日時点の選手経歴がない打席はビュー（経歴と内部結合）にも現れないため集計しない
+			if (pitcherTeamId == null || batterTeamId == null) {
+				continue;
+			}
+			MatchupAggregate.Key key = new MatchupAggregate.Key(
+					atBatResult.getPitcherId(), atBatResult.getBatterId(), season, pitcherTeamId, batterTeamId);
+			statLineByKey.computeIfAbsent(key, k -> new StatLine())
+					.add(AtBatOutcome.resolve(atBatResult.getResultCd(), atBatResult.getResult()));
+		}
+		statLineByKey.forEach((key, statLine) -> matchupAggregateRepository.upsert(
+				key.getPitcherId(), key.getBatterId(), key.getSeason(),
+				key.getPitcherTeamId(), key.getBatterTeamId(), statLine));
+	}
+
+	/**
+	 * チームID、選手IDのパラメータによって対戦成績集計を取得する
+	 * @param pitcherTeamId
+	 * @param batterTeamId
+	 * @param pitcherId
+	 * @param batterId
+	 * @param selectedYear
+	 * @return
+	 */
+	public List<MatchupAggregateProjection> findMatchupAggregate(Long pitcherTeamId, Long batterTeamId, Long pitcherId,
+			Long batterId, String selectedYear) {
+		return matchupAggregateRepository.findMatchupAggregate(pitcherTeamId, batterTeamId, pitcherId, batterId,
+				BaseballUtil.parseSeason(selectedYear));
+	}
+
+	/**
+	 * 対戦のあった投手・打者・年度の組み合わせを取得する
+	 * @return 投手ID、打者ID順の組み合わせ
+	 */
+	public List<MatchupSeasonProjection> findMatchupSeasons() {
+		return matchupAggregateRepository.findMatchupSeasons();
+	}
+}
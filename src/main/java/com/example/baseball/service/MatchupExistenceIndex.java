@@ -0,0 +1,196 @@
+package com.example.baseball.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.baseball.entity.MatchupSeasonProjection;
+import com.example.baseball.event.DataVersionChangedEvent;
+import com.example.baseball.util.BaseballUtil;
+
+/**
+ * 対戦のあった投手・打者の組み合わせと、その年度をメモリ上に保持する
+ *
+ * 投手ID・打者IDを1つのlongにまとめた昇順の配列と、年度ごとのビット列（基準年度からの差）を持ち、
+ * 二分探索で対戦の有無を判定する。対戦のない組み合わせはDBに問い合わせずに対戦なしと判定できる。
+ * 対戦成績集計（MATCHUP_AGGREGATE）は打席結果の取り込みと同じトランザクションで更新されるため、そこから作成する。
+ * スクレイパーの取り込み完了（DataVersionChangedEvent）で作り直し、作成中は判定しない（常にDBに問い合わせる）。
+ * 作り直しの要求ごとに世代を進め、古い世代で作成を開始したものは（更新前のデータのため）使用しない。
+ */
+@Component
+public class MatchupExistenceIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(MatchupExistenceIndex.class);
+
+	// 投手ID・打者IDをまとめる際の上限（まとめた値が負にならないよう、それぞれ31ビットに収まること）
+	private static final long MAX_PLAYER_ID = Integer.MAX_VALUE;
+	// 年度のビット列で扱える年数
+	private static final int MAX_SEASONS = Long.SIZE;
+
+	@Value("${baseball.matchup-existence-index.enabled:true}")
+	private boolean enabled;
+
+	@Autowired
+	private MatchupAggregateService matchupAggregateService;
+
+	private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "matchup-existence-index");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// 作り直しを要求した世代（作成結果を設定する際に最新の世代か確認する）
+	private final AtomicLong generation = new AtomicLong();
+
+	// 作成前・作成中はnull
+	private volatile Index index;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		requestRebuild();
+	}
+
+	/**
+	 * データが更新された場合は作り直す（作り直すまでは判定しない）
+	 */
+	@EventListener
+	public void onDataVersionChanged(DataVersionChangedEvent event) {
+		requestRebuild();
+	}
+
+	/**
+	 * 投手と打者の対戦が確実にないかを判定する
+	 * @param pitcherId
+	 * @param batterId
+	 * @param selectedYear 年度（"通算"の場合は全期間）
+	 * @return 対戦がないことが確実な場合はtrue（未作成・判定できない場合はfalse）
+	 */
+	public boolean isDefinitelyAbsent(Long pitcherId, Long batterId, String selectedYear) {
+		Index current = index;
+		if (current == null || pitcherId == null || batterId == null) {
+			return false;
+		}
+		Integer season;
+		try {
+			season = BaseballUtil.parseSeason(selectedYear);
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		return !current.contains(pitcherId, batterId, season);
+	}
+
+	private void requestRebuild() {
+		if (!enabled) {
+			return;
+		}
+		long requested;
+		synchronized (generation) {
+			requested = generation.incrementAndGet();
+			index = null;
+		}
+		loader.execute(() -> {
+			try {
+				if (generation.get() != requested) {
+					// 後の要求で作り直すため作成しない
+					return;
+				}
+				long start = System.currentTimeMillis();
+				Index built = Index.build(matchupAggregateService.findMatchupSeasons());
+				synchronized (generation) {
+					if (generation.get() != requested) {
+						// 作成中にデータが更新されたため破棄する（後の要求で作り直す）
+						return;
+					}
+					index = built;
+				}
+				if (built != null) {
+					log.info("対戦の組み合わせをロードしました: {} 件 ({} ms)",
+							built.pairs.length, System.currentTimeMillis() - start);
+				}
+			} catch (RuntimeException e) {
+				log.error("対戦の組み合わせのロードに失敗しました", e);
+			}
+		});
+	}
+
+	/**
+	 * 対戦の組み合わせ（不変）
+	 */
+	private static final class Index {
+		// 投手ID（上位32ビット）・打者ID（下位32ビット）の昇順
+		private final long[] pairs;
+		// 組み合わせごとの対戦のあった年度（firstSeason からの差をビット位置とする）
+		private final long[] seasonBits;
+		private final int firstSeason;
+
+		private Index(long[] pairs, long[] seasonBits, int firstSeason) {
+			this.pairs = pairs;
+			this.seasonBits = seasonBits;
+			this.firstSeason = firstSeason;
+		}
+
+		/**
+		 * 投手ID、打者ID順の組み合わせから作成する
+		 * @return 判定に使用できない値が含まれる場合はnull
+		 */
+		static Index build(List<MatchupSeasonProjection> matchupSeasons) {
+			int firstSeason = Integer.MAX_VALUE;
+			int lastSeason = Integer.MIN_VALUE;
+			for (MatchupSeasonProjection matchupSeason : matchupSeasons) {
+				firstSeason = Math.min(firstSeason, matchupSeason.getSeason());
+				lastSeason = Math.max(lastSeason, matchupSeason.getSeason());
+			}
+			if (!matchupSeasons.isEmpty() && lastSeason - firstSeason >= MAX_SEASONS) {
+				log.warn("対戦の組み合わせの年度が多すぎるため使用しません: {} - {}", firstSeason, lastSeason);
+				return null;
+			}
+
+			long[] pairs = new long[matchupSeasons.size()];
+			long[] seasonBits = new long[matchupSeasons.size()];
+			int size = 0;
+			for (MatchupSeasonProjection matchupSeason : matchupSeasons) {
+				long pitcherId = matchupSeason.getPitcherId();
+				long batterId = matchupSeason.getBatterId();
+				if (pitcherId < 0 || pitcherId > MAX_PLAYER_ID || batterId < 0 || batterId > MAX_PLAYER_ID) {
+					log.warn("選手IDが範囲外のため対戦の組み合わせを使用しません: {}, {}", pitcherId, batterId);
+					return null;
+				}
+				long pair = toPair(pitcherId, batterId);
+				if (size == 0 || pairs[size - 1] != pair) {
+					pairs[size++] = pair;
+				}
+				seasonBits[size - 1] |= 1L << (matchupSeason.getSeason() - firstSeason);
+			}
+			return new Index(Arrays.copyOf(pairs, size), Arrays.copyOf(seasonBits, size), firstSeason);
+		}
+
+		boolean contains(long pitcherId, long batterId, Integer season) {
+			if (pitcherId < 0 || pitcherId > MAX_PLAYER_ID || batterId < 0 || batterId > MAX_PLAYER_ID) {
+				return false;
+			}
+			int position = Arrays.binarySearch(pairs, toPair(pitcherId, batterId));
+			if (position < 0) {
+				return false;
+			}
+			if (season == null) {
+				return true;
+			}
+			int bit = season - firstSeason;
+			return bit >= 0 && bit < MAX_SEASONS && (seasonBits[position] & (1L << bit)) != 0;
+		}
+
+		private static long toPair(long pitcherId, long batterId) {
+			return (pitcherId << 32) | batterId;
+		}
+	}
+}
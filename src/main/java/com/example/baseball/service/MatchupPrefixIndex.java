@@ -0,0 +1,216 @@
+package com.example.baseball.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.example.baseball.entity.StatLine;
+import com.example.baseball.util.AtBatOutcome;
+
+/**
+ * 投手・打者の組み合わせごとの打席結果の累積件数（AtBatColumnStore のスナップショットごとに作成する不変の索引）
+ *
+ * 組み合わせごとに打席を試合日順に並べ、先頭からの打席結果の分類別件数を保持する。
+ * 任意の期間の対戦成績は、試合日の二分探索2回と累積件数の引き算で求められるため、
+ * 期間の長さ（直近30日、移籍後、通算など）に関係なく同じコストで集計できる。
+ */
+final class MatchupPrefixIndex {
+
+	private static final int OUTCOMES = AtBatOutcome.values().length;
+
+	// 組み合わせごとの打席の開始位置（組み合わせ数+1）
+	private final int[] pairStart;
+	// 組み合わせ内で試合日順に並べた打席の行番号と試合日（yyyyMMdd）
+	private final int[] rows;
+	private final int[] dates;
+	// 位置ごとの組み合わせ内の累積件数（位置 * OUTCOMES + 分類コード、その位置を含む）
+	// 1組の対戦が65535打席を超えることはないため char で保持する
+	private final char[] cumulative;
+	// 組み合わせ内で所属チームが変わっているか
+	private final boolean[] multipleTeams;
+	// 選手コードごとの組み合わせ
+	private final int[][] pairsByPitcher;
+	private final int[][] pairsByBatter;
+	// 投手コード（上位32ビット）・打者コード（下位32ビット）→ 組み合わせ
+	private final Map<Long, Integer> pairByKey;
+
+	/**
+	 * スナップショットの列から作成する
+	 * @param size 打席数
+	 * @param playerCount 選手コードの数
+	 */
+	MatchupPrefixIndex(int size, int playerCount, int[] pitcher, int[] batter, int[] pitcherTeam, int[] batterTeam,
+			int[] gameDate, byte[] outcome) {
+		// 打席ごとの組み合わせ
+		Map<Long, Integer> pairs = new HashMap<>();
+		int[] pairOfRow = new int[size];
+		int[] firstPitcher = new int[64];
+		int[] firstBatter = new int[64];
+		for (int row = 0; row < size; row++) {
+			int pairCount = pairs.size();
+			int pair = pairs.computeIfAbsent(toKey(pitcher[row], batter[row]), key -> pairCount);
+			if (pair == pairCount) {
+				if (pairCount == firstPitcher.length) {
+					firstPitcher = Arrays.copyOf(firstPitcher, pairCount * 2);
+					firstBatter = Arrays.copyOf(firstBatter, pairCount * 2);
+				}
+				firstPitcher[pair] = pitcher[row];
+				firstBatter[pair] = batter[row];
+			}
+			pairOfRow[row] = pair;
+		}
+		int pairCount = pairs.size();
+		this.pairByKey = pairs;
+		// 組み合わせごとの投手・打者（選手コード）
+		int[] pairPitcher = Arrays.copyOf(firstPitcher, pairCount);
+		int[] pairBatter = Arrays.copyOf(firstBatter, pairCount);
+
+		// 組み合わせごとに行番号を並べる（計数ソート）
+		this.pairStart = new int[pairCount + 1];
+		for (int row = 0; row < size; row++) {
+			pairStart[pairOfRow[row] + 1]++;
+		}
+		for (int pair = 0; pair < pairCount; pair++) {
+			pairStart[pair + 1] += pairStart[pair];
+		}
+		this.rows = new int[size];
+		int[] filled = Arrays.copyOf(pairStart, pairCount);
+		for (int row = 0; row < size; row++) {
+			rows[filled[pairOfRow[row]]++] = row;
+		}
+
+		this.dates = new int[size];
+		this.cumulative = new char[size * OUTCOMES];
+		this.multipleTeams = new boolean[pairCount];
+		for (int pair = 0; pair < pairCount; pair++) {
+			int start = pairStart[pair];
+			int end = pairStart[pair + 1];
+			// 打席IDの順はほぼ試合日順のため挿入ソートで並べ替える（同じ試合日は打席IDの順のまま）
+			for (int i = start + 1; i < end; i++) {
+				int row = rows[i];
+				int j = i - 1;
+				while (j >= start && gameDate[rows[j]] > gameDate[row]) {
+					rows[j + 1] = rows[j];
+					j--;
+				}
+				rows[j + 1] = row;
+			}
+			int firstRow = rows[start];
+			for (int position = start; position < end; position++) {
+				int row = rows[position];
+				dates[position] = gameDate[row];
+				if (position > start) {
+					System.arraycopy(cumulative, (position - 1) * OUTCOMES, cumulative, position * OUTCOMES, OUTCOMES);
+				}
+				cumulative[position * OUTCOMES + outcome[row]]++;
+				if (pitcherTeam[row] != pitcherTeam[firstRow] || batterTeam[row] != batterTeam[firstRow]) {
+					multipleTeams[pair] = true;
+				}
+			}
+		}
+
+		this.pairsByPitcher = postings(pairPitcher, playerCount);
+		this.pairsByBatter = postings(pairBatter, playerCount);
+	}
+
+	/**
+	 * 投手・打者の組み合わせを取得する
+	 * @return 組み合わせ（対戦がない場合は-1）
+	 */
+	int pair(int pitcherCode, int batterCode) {
+		return pairByKey.getOrDefault(toKey(pitcherCode, batterCode), -1);
+	}
+
+	int[] pairsOfPitcher(int pitcherCode) {
+		return pairsByPitcher[pitcherCode];
+	}
+
+	int[] pairsOfBatter(int batterCode) {
+		return pairsByBatter[batterCode];
+	}
+
+	boolean hasMultipleTeams(int pair) {
+		return multipleTeams[pair];
+	}
+
+	/**
+	 * 組み合わせ内で試合日が fromDate 以上の最初の位置
+	 */
+	int lowerBound(int pair, int fromDate) {
+		int low = pairStart[pair];
+		int high = pairStart[pair + 1];
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (dates[middle] < fromDate) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * 組み合わせ内で試合日が toDate より後の最初の位置
+	 */
+	int upperBound(int pair, int toDate) {
+		int low = pairStart[pair];
+		int high = pairStart[pair + 1];
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (dates[middle] <= toDate) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * 位置の行番号
+	 */
+	int rowAt(int position) {
+		return rows[position];
+	}
+
+	/**
+	 * 組み合わせ内の位置 [from, to) の打席結果の件数を累積件数の差から求める
+	 */
+	StatLine sum(int pair, int from, int to) {
+		StatLine statLine = new StatLine();
+		int last = (to - 1) * OUTCOMES;
+		int before = (from - 1) * OUTCOMES;
+		boolean first = from == pairStart[pair];
+		for (int code = 0; code < OUTCOMES; code++) {
+			int count = cumulative[last + code] - (first ? 0 : cumulative[before + code]);
+			if (count > 0) {
+				statLine.add(AtBatOutcome.fromCode(code), count);
+			}
+		}
+		return statLine;
+	}
+
+	private static long toKey(int pitcherCode, int batterCode) {
+		return ((long) pitcherCode << 32) | batterCode;
+	}
+
+	/**
+	 * 選手コードごとの組み合わせのリストを作成する（計数ソート）
+	 */
+	private static int[][] postings(int[] codes, int codeCount) {
+		int[] counts = new int[codeCount];
+		for (int code : codes) {
+			counts[code]++;
+		}
+		int[][] postings = new int[codeCount][];
+		for (int code = 0; code < codeCount; code++) {
+			postings[code] = new int[counts[code]];
+		}
+		int[] filled = new int[codeCount];
+		for (int pair = 0; pair < codes.length; pair++) {
+			postings[codes[pair]][filled[codes[pair]]++] = pair;
+		}
+		return postings;
+	}
+}
@@ -0,0 +1,106 @@
+package com.example.baseball.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import com.example.baseball.entity.BaseballPlayer;
+import com.example.baseball.entity.BaseballTeam;
+import com.example.baseball.event.DataVersionChangedEvent;
+
+/**
+ * 選手名・NPB URL・チーム略称の辞書
+ * 打席結果はIDのみで集計し、画面表示用の名前は集計単位ごとに1回だけこの辞書から取得する。
+ * 選手は初回参照時にDBから取得し、チームは初回参照時に全件取得してメモリに保持する。
+ */
+@Service
+public class NameDictionaryService {
+	@Autowired
+	private BaseballPlayerService baseballPlayerService;
+	@Autowired
+	private BaseballTeamService baseballTeamService;
+
+	private final Map<Long, BaseballPlayer> playerById = new ConcurrentHashMap<>();
+	private volatile Map<Long, BaseballTeam> teamById;
+
+	/**
+	 * 選手を取得する
+	 * @param playerId
+	 * @return 選手（存在しない場合はnull）
+	 */
+	public BaseballPlayer getPlayer(Long playerId) {
+		if (playerId == null) {
+			return null;
+		}
+		BaseballPlayer player = playerById.get(playerId);
+		if (player == null) {
+			player = baseballPlayerService.findById(playerId);
+			if (player != null) {
+				playerById.put(playerId, player);
+			}
+		}
+		return player;
+	}
+
+	/**
+	 * 未取得の選手をまとめて取得する
+	 * @param playerIds
+	 */
+	public void preloadPlayers(Collection<Long> playerIds) {
+		List<Long> missingIds = new ArrayList<>();
+		for (Long playerId : playerIds) {
+			if (playerId != null && !playerById.containsKey(playerId)) {
+				missingIds.add(playerId);
+			}
+		}
+		if (!missingIds.isEmpty()) {
+			for (BaseballPlayer player : baseballPlayerService.findAllById(missingIds)) {
+				playerById.put(player.getPlayerId(), player);
+			}
+		}
+	}
+
+	/**
+	 * チームを取得する
+	 * @param teamId
+	 * @return チーム（存在しない場合はnull）
+	 */
+	public BaseballTeam getTeam(Long teamId) {
+		Map<Long, BaseballTeam> teams = teamById;
+		if (teams == null) {
+			Map<Long, BaseballTeam> loaded = new ConcurrentHashMap<>();
+			for (BaseballTeam team : baseballTeamService.findAllBaseballTeam()) {
+				loaded.put(team.getTeamId(), team);
+			}
+			teamById = loaded;
+			teams = loaded;
+		}
+		return teamId == null ? null : teams.get(teamId);
+	}
+
+	/**
+	 * 保持している選手・チームを破棄する（次回参照時にDBから取得し直す）
+	 */
+	public void clear() {
+		playerById.clear();
+		teamById = null;
+	}
+
+	/**
+	 * データが更新された場合は保持している選手・チームを破棄する
+	 * AtBatColumnStore の差分ロード（選手の先読み）より前に破棄するよう、他のリスナーより先に実行する。
+	 */
+	@EventListener
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onDataVersionChanged(DataVersionChangedEvent event) {
+		clear();
+	}
+}
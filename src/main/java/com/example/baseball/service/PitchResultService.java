@@ -1,20 +1,138 @@
 package com.example.baseball.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.baseball.entity.PitchHeatmap;
+import com.example.baseball.entity.PitchHeatmap.PitchTypeZones;
 import com.example.baseball.entity.PitchResult;
+import com.example.baseball.entity.PitchZoneCountProjection;
+import com.example.baseball.entity.VelocityBucketProjection;
+import com.example.baseball.entity.VelocityDistribution;
 import com.example.baseball.repository.PitchResultRepository;
+import com.example.baseball.repository.VelocityHistogramRepository;
+import com.example.baseball.util.BaseballUtil;
 
 @Service
 public class PitchResultService {
+	private static final Logger log = LoggerFactory.getLogger(PitchResultService.class);
+
 	@Autowired
 	PitchResultRepository pitchResultRepository;
+	@Autowired
+	VelocityHistogramRepository velocityHistogramRepository;
 
+	// 全球種の合計の球種名
+	private static final String ALL_PITCH_TYPES = "全球種";
+
+    /**
+     * 1試合分の投球結果を保存し、同じトランザクションで球速分布に加算する
+     * @param pitchResult 投球結果
+     * @return 保存した投球結果
+     */
+    @Transactional
     public List<PitchResult> saveAll(List<PitchResult> pitchResult) {
-        return pitchResultRepository.saveAll(pitchResult);
+        return insertPitches(pitchResult);
+    }
+
+    /**
+     * 1試合分の投球結果を置き換える
+     * 保存済みの投球結果を球速分布から減算して削除した後に保存するため、同じ試合を取り直しても重複しない。
+     * @param gameId 試合ID
+     * @param pitchResult 試合の全打席の投球結果
+     * @return 保存した投球結果
+     */
+    @Transactional
+    public List<PitchResult> replaceGamePitches(Long gameId, List<PitchResult> pitchResult) {
+        velocityHistogramRepository.subtractGamePitches(gameId);
+        int deleted = pitchResultRepository.deleteByGameId(gameId);
+        if (deleted > 0) {
+            log.info("保存済みの投球結果を置き換えます: gameId={}, 削除={} 件", gameId, deleted);
+        }
+        return insertPitches(pitchResult);
+    }
+
+    private List<PitchResult> insertPitches(List<PitchResult> pitchResult) {
+        List<PitchResult> savedList = pitchResultRepository.saveAll(pitchResult);
+        if (!savedList.isEmpty()) {
+            pitchResultRepository.flush();
+            List<Long> pitchIds = new ArrayList<>(savedList.size());
+            savedList.forEach(saved -> pitchIds.add(saved.getPitchId()));
+            velocityHistogramRepository.addPitches(pitchIds);
+        }
+        return savedList;
     }
 
+    /**
+     * 投手の球種ごとの球速分布を取得する
+     * 年度ごとの集計を区間単位で合算し、中央値・90パーセンタイル等は区間の累積件数から求める。
+     * @param pitcherId
+     * @param selectedYear 年度（"通算"の場合は全期間）
+     * @return 全球種の合計を先頭に、投球数の多い順の球速分布（投球がない場合は空リスト）
+     */
+    public List<VelocityDistribution> findVelocityDistribution(Long pitcherId, String selectedYear) {
+        Map<String, SpeedHistogram> histogramByPitchType = new LinkedHashMap<>();
+        SpeedHistogram allPitchTypes = new SpeedHistogram();
+        for (VelocityBucketProjection bucket : velocityHistogramRepository.findBuckets(pitcherId,
+                BaseballUtil.parseSeason(selectedYear))) {
+            histogramByPitchType.computeIfAbsent(bucket.getPitchType(), pitchType -> new SpeedHistogram())
+                    .add(bucket.getSpeed(), bucket.getPitchCount().intValue());
+        }
+        List<VelocityDistribution> distributions = new ArrayList<>();
+        if (histogramByPitchType.isEmpty()) {
+            return distributions;
+        }
+        histogramByPitchType.values().forEach(allPitchTypes::merge);
+        histogramByPitchType.forEach((pitchType, histogram) -> distributions.add(histogram.toDistribution(pitchType)));
+        distributions.sort((a, b) -> Integer.compare(b.getPitchCount(), a.getPitchCount()));
+        distributions.add(0, allPitchTypes.toDistribution(ALL_PITCH_TYPES));
+        return distributions;
+    }
+
+    /**
+     * 投手ごと・打者ごと・対戦ごとのコース別・球種別の投球数を取得する
+     * 球種・コースごとの件数をDBで集計し、1回の走査で5×5の配列に詰める。
+     * @param pitcherId 投手ID（nullの場合は全投手）
+     * @param batterId 打者ID（nullの場合は全打者）
+     * @param selectedYear 年度（"通算"の場合は全期間）
+     * @return コース別・球種別の投球数（投球がない場合はnull）
+     */
+    public PitchHeatmap findHeatmap(Long pitcherId, Long batterId, String selectedYear) {
+        List<PitchZoneCountProjection> counts = pitchResultRepository.countByPitchTypeAndCourse(
+                pitcherId, batterId, BaseballUtil.parseSeason(selectedYear));
+        if (counts.isEmpty()) {
+            return null;
+        }
+
+        PitchHeatmap heatmap = new PitchHeatmap();
+        Map<String, PitchTypeZones> zonesByPitchType = new LinkedHashMap<>();
+        for (PitchZoneCountProjection count : counts) {
+            int pitchCount = count.getPitchCount().intValue();
+            PitchTypeZones pitchTypeZones = zonesByPitchType.computeIfAbsent(count.getPitchType(),
+                    pitchType -> new PitchTypeZones(pitchType, 0, new int[PitchHeatmap.ZONES], 0));
+            heatmap.setTotalPitches(heatmap.getTotalPitches() + pitchCount);
+            pitchTypeZones.setPitchCount(pitchTypeZones.getPitchCount() + pitchCount);
+
+            Integer course = count.getCourse();
+            if (course == null || course < 1 || course > PitchHeatmap.ZONES) {
+                heatmap.setUnknownCourse(heatmap.getUnknownCourse() + pitchCount);
+                pitchTypeZones.setUnknownCourse(pitchTypeZones.getUnknownCourse() + pitchCount);
+                continue;
+            }
+            heatmap.getZoneCounts()[course - 1] += pitchCount;
+            pitchTypeZones.getZoneCounts()[course - 1] += pitchCount;
+        }
+
+        heatmap.getPitchTypes().addAll(zonesByPitchType.values());
+        heatmap.getPitchTypes().sort((a, b) -> Integer.compare(b.getPitchCount(), a.getPitchCount()));
+        return heatmap;
+    }
 }
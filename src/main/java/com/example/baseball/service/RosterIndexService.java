@@ -0,0 +1,237 @@
+package com.example.baseball.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.baseball.entity.PlayerProjection;
+import com.example.baseball.entity.VBaseballPlayerHistory;
+import com.example.baseball.event.DataVersionChangedEvent;
+import com.example.baseball.util.BaseballUtil;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * チーム・年度ごとの選手一覧（プルダウン用）をメモリ上に保持する
+ *
+ * V_BASEBALL_PLAYER_HISTORY を一括で読み込み、表示名（括弧以降を除いた選手名）と
+ * 並び順用のカナ（・（）を除いたもの）を作成済みの状態で、(チームID, 年度, ポジション) ごとに並べ替えて保持する。
+ * 選手の所属履歴が更新された場合は invalidate() で破棄し、次回参照時に読み込み直す。
+ */
+@Service
+public class RosterIndexService {
+
+	// 全チームを表すチームID
+	private static final long ALL_TEAMS = 0L;
+	// 投手のポジションコード
+	private static final String PITCHER_POSITION = "1";
+
+	// 読み込み直すまでの間隔（ミリ秒）。別プロセスのスクレイパーによる更新を反映するため
+	@Value("${baseball.roster-index.refresh-interval-ms:600000}")
+	private long refreshIntervalMs;
+
+	@Autowired
+	private VBaseballPlayerHistoryService vBaseballPlayerHistoryService;
+
+	private volatile RosterIndex index;
+
+	/**
+	 * バッターのリストをチームIDと年度で検索
+	 * @param teamId 0の場合は全チーム
+	 * @param year 年度（"通算"の場合は全期間）
+	 * @return カナ順の選手リスト
+	 */
+	public List<PlayerProjection> findBatterByTeamIdAndYear(Long teamId, String year) {
+		return getIndex().find(teamId, year, null);
+	}
+
+	/**
+	 * ピッチャーのリストをチームIDと年度で検索
+	 * @param teamId 0の場合は全チーム
+	 * @param position ポジションコード
+	 * @param year 年度（"通算"の場合は全期間）
+	 * @return カナ順の選手リスト
+	 */
+	public List<PlayerProjection> findPitcherByTeamIdAndYear(Long teamId, String position, String year) {
+		return getIndex().find(teamId, year, position);
+	}
+
+	/**
+	 * 保持している選手一覧を破棄する（次回参照時に読み込み直す）
+	 */
+	public void invalidate() {
+		index = null;
+	}
+
+	/**
+	 * データが更新された場合は選手一覧を破棄する
+	 */
+	@EventListener
+	public void onDataVersionChanged(DataVersionChangedEvent event) {
+		invalidate();
+	}
+
+	private RosterIndex getIndex() {
+		RosterIndex current = index;
+		if (current == null || System.currentTimeMillis() - current.loadedAt > refreshIntervalMs) {
+			synchronized (this) {
+				current = index;
+				if (current == null || System.currentTimeMillis() - current.loadedAt > refreshIntervalMs) {
+					current = new RosterIndex(vBaseballPlayerHistoryService.findAll());
+					index = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * 選手一覧の索引
+	 */
+	private static final class RosterIndex {
+		private final long loadedAt = System.currentTimeMillis();
+		private final List<RosterRow> rows = new ArrayList<>();
+		private final Map<RosterKey, List<PlayerProjection>> playersByKey = new ConcurrentHashMap<>();
+
+		RosterIndex(List<VBaseballPlayerHistory> histories) {
+			Set<Long> teamIds = new LinkedHashSet<>();
+			teamIds.add(ALL_TEAMS);
+			int firstSeason = LocalDate.now().getYear();
+			for (VBaseballPlayerHistory history : histories) {
+				RosterRow row = new RosterRow(history);
+				rows.add(row);
+				if (row.teamId != null) {
+					teamIds.add(row.teamId);
+				}
+				if (row.startDate != null) {
+					firstSeason = Math.min(firstSeason, row.startDate.getYear());
+				}
+			}
+
+			// 履歴のある年度と通算は事前に作成し、それ以外の年度は初回参照時に作成する
+			List<Integer> seasons = new ArrayList<>();
+			seasons.add(null);
+			for (int season = firstSeason; season <= LocalDate.now().getYear(); season++) {
+				seasons.add(season);
+			}
+			for (Long teamId : teamIds) {
+				for (Integer season : seasons) {
+					playersByKey.computeIfAbsent(new RosterKey(teamId, season, null), this::build);
+					playersByKey.computeIfAbsent(new RosterKey(teamId, season, PITCHER_POSITION), this::build);
+				}
+			}
+		}
+
+		List<PlayerProjection> find(Long teamId, String year, String position) {
+			Integer season;
+			try {
+				season = BaseballUtil.parseSeason(year);
+			} catch (NumberFormatException e) {
+				return Collections.emptyList();
+			}
+			long team = teamId == null ? ALL_TEAMS : teamId;
+			return playersByKey.computeIfAbsent(new RosterKey(team, season, position), this::build);
+		}
+
+		/**
+		 * 条件に合う履歴の選手を重複なしでカナ順に並べる
+		 */
+		private List<PlayerProjection> build(RosterKey key) {
+			LocalDate seasonStart = key.getSeason() == null ? null : LocalDate.of(key.getSeason(), 1, 1);
+			LocalDate seasonEnd = key.getSeason() == null ? null : LocalDate.of(key.getSeason(), 12, 31);
+			Map<Long, PlayerProjection> players = new LinkedHashMap<>();
+			for (RosterRow row : rows) {
+				if (key.getTeamId() != ALL_TEAMS && !Objects.equals(row.teamId, key.getTeamId())) {
+					continue;
+				}
+				if (key.getPosition() != null && !key.getPosition().equals(row.position)) {
+					continue;
+				}
+				if (seasonStart != null && (row.startDate == null || row.startDate.isAfter(seasonEnd)
+						|| (row.endDate != null && row.endDate.isBefore(seasonStart)))) {
+					continue;
+				}
+				players.putIfAbsent(row.player.getPlayerId(), row.player);
+			}
+			List<PlayerProjection> sorted = new ArrayList<>(players.values());
+			sorted.sort(Comparator.comparing(PlayerProjection::getPlayerNmKana,
+					Comparator.nullsFirst(Comparator.naturalOrder())));
+			return Collections.unmodifiableList(sorted);
+		}
+	}
+
+	/**
+	 * 索引のキー（チームID、年度（通算はnull）、ポジション（全ポジションはnull））
+	 */
+	@Getter
+	@EqualsAndHashCode
+	@AllArgsConstructor
+	private static class RosterKey {
+		private final long teamId;
+		private final Integer season;
+		private final String position;
+	}
+
+	/**
+	 * 表示名・カナを正規化済みの所属履歴
+	 */
+	private static final class RosterRow {
+		private final Long teamId;
+		private final String position;
+		private final LocalDate startDate;
+		private final LocalDate endDate;
+		private final RosterPlayer player;
+
+		RosterRow(VBaseballPlayerHistory history) {
+			this.teamId = history.getTeamId();
+			this.position = history.getPosition();
+			this.startDate = BaseballUtil.toLocalDate(history.getStartDate());
+			this.endDate = BaseballUtil.toLocalDate(history.getEndDate());
+			this.player = new RosterPlayer(history.getPlayerId(), toDisplayName(history.getPlayerNm()),
+					toSortKana(history.getPlayerNmKana()));
+		}
+
+		// 「（」以降（旧登録名など）を除く
+		private static String toDisplayName(String playerNm) {
+			if (playerNm == null) {
+				return null;
+			}
+			int index = playerNm.indexOf('（');
+			return index < 0 ? playerNm : playerNm.substring(0, index);
+		}
+
+		// 並び順に影響する記号を除く
+		private static String toSortKana(String playerNmKana) {
+			if (playerNmKana == null) {
+				return null;
+			}
+			return playerNmKana.replace("・", "").replace("（", "").replace("）", "");
+		}
+	}
+
+	/**
+	 * 選手一覧の1件
+	 */
+	@Getter
+	@AllArgsConstructor
+	private static class RosterPlayer implements PlayerProjection {
+		private final Long playerId;
+		private final String playerNm;
+		private final String playerNmKana;
+	}
+}
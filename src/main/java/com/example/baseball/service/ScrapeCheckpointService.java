@@ -0,0 +1,84 @@
+package com.example.baseball.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.baseball.entity.ScrapeCheckpoint;
+import com.example.baseball.repository.ScrapeCheckpointRepository;
+
+/**
+ * スクレイパーの進捗を管理する
+ * スクレイパーは試合・試合日の取り込みが完了するたびに記録し、次回の実行は記録した位置から再開する。
+ */
+@Service
+public class ScrapeCheckpointService {
+
+	@Value("${baseball.scrape-checkpoint.enabled:true}")
+	private boolean enabled;
+
+	@Autowired
+	private ScrapeCheckpointRepository scrapeCheckpointRepository;
+
+	/**
+	 * 進捗を取得する
+	 * @param scraperNm スクレイパー（ScrapeCheckpoint.SCRAPER_*）
+	 * @return 進捗（未記録・無効の場合はnull）
+	 */
+	public ScrapeCheckpoint find(String scraperNm) {
+		if (!enabled) {
+			return null;
+		}
+		return scrapeCheckpointRepository.findById(scraperNm).orElse(null);
+	}
+
+	/**
+	 * 試合の取り込み完了を記録する
+	 * @param scraperNm スクレイパー
+	 * @param gameDate 試合日
+	 * @param game 試合（NPBは試合のリンク、Yahoo!は試合ID）
+	 */
+	@Transactional
+	public void saveGame(String scraperNm, LocalDate gameDate, String game) {
+		save(scraperNm, gameDate, game);
+	}
+
+	/**
+	 * 試合日の全試合の取り込み完了を記録する
+	 * @param scraperNm スクレイパー
+	 * @param gameDate 試合日
+	 */
+	@Transactional
+	public void saveDate(String scraperNm, LocalDate gameDate) {
+		save(scraperNm, gameDate, null);
+	}
+
+	/**
+	 * 取り込みを中断した打席のindexを記録する（試合日・試合は変更しない）
+	 * @param scraperNm スクレイパー
+	 * @param index 打席のindex
+	 */
+	@Transactional
+	public void saveIndex(String scraperNm, String index) {
+		if (!enabled) {
+			return;
+		}
+		ScrapeCheckpoint checkpoint = scrapeCheckpointRepository.findById(scraperNm)
+				.orElseGet(() -> new ScrapeCheckpoint(scraperNm, null, null, null, null));
+		checkpoint.setLastIndex(index);
+		checkpoint.setUpdatedAt(LocalDateTime.now());
+		scrapeCheckpointRepository.save(checkpoint);
+	}
+
+	private void save(String scraperNm, LocalDate gameDate, String game) {
+		if (!enabled) {
+			return;
+		}
+		scrapeCheckpointRepository.save(
+				new ScrapeCheckpoint(scraperNm, gameDate, game, null, LocalDateTime.now()));
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.baseball.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.example.baseball.entity.VelocityDistribution;
+
+/**
+ * 1km/h 刻みの固定幅の球速ヒストグラム
+ * 範囲外の球速は両端の区間に含める。合算は区間数に比例するコストで行え、
+ * 中央値・パーセンタイルは投球を並べ替えずに累積件数から求める。
+ */
+final class SpeedHistogram {
+
+	// 区間の下限・上限（km/h）
+	static final int MIN_SPEED = 60;
+	static final int MAX_SPEED = 170;
+
+	private final int[] counts = new int[MAX_SPEED - MIN_SPEED + 1];
+	private int total;
+	private long speedSum;
+
+	/**
+	 * 球速の投球数を加算する
+	 */
+	void add(int speed, int pitchCount) {
+		int clamped = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+		counts[clamped - MIN_SPEED] += pitchCount;
+		total += pitchCount;
+		speedSum += (long) speed * pitchCount;
+	}
+
+	/**
+	 * 別のヒストグラムを加算する
+	 */
+	void merge(SpeedHistogram other) {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] += other.counts[i];
+		}
+		total += other.total;
+		speedSum += other.speedSum;
+	}
+
+	int getTotal() {
+		return total;
+	}
+
+	/**
+	 * 下から rank 番目（1始まり）の投球が含まれる区間の球速
+	 */
+	private int speedAtRank(long rank) {
+		long cumulative = 0;
+		for (int i = 0; i < counts.length; i++) {
+			cumulative += counts[i];
+			if (cumulative >= rank) {
+				return MIN_SPEED + i;
+			}
+		}
+		return MAX_SPEED;
+	}
+
+	/**
+	 * パーセンタイル（最近順位法）
+	 * @param percent 0〜100
+	 */
+	int percentile(int percent) {
+		return speedAtRank(Math.max(1, (total * (long) percent + 99) / 100));
+	}
+
+	/**
+	 * 画面返却用の球速分布に変換する
+	 * @return 投球がない場合はnull
+	 */
+	VelocityDistribution toDistribution(String pitchType) {
+		if (total == 0) {
+			return null;
+		}
+		int low = 0;
+		while (counts[low] == 0) {
+			low++;
+		}
+		int high = counts.length - 1;
+		while (counts[high] == 0) {
+			high--;
+		}
+		int[] range = new int[high - low + 1];
+		System.arraycopy(counts, low, range, 0, range.length);
+
+		VelocityDistribution distribution = new VelocityDistribution();
+		distribution.setPitchType(pitchType);
+		distribution.setPitchCount(total);
+		distribution.setAverageSpeed(BigDecimal.valueOf(speedSum)
+				.divide(BigDecimal.valueOf(total), 1, RoundingMode.HALF_UP));
+		distribution.setMedianSpeed(percentile(50));
+		distribution.setP90Speed(percentile(90));
+		distribution.setMinSpeed(MIN_SPEED + low);
+		distribution.setMaxSpeed(MIN_SPEED + high);
+		distribution.setCounts(range);
+		return distribution;
+	}
+}
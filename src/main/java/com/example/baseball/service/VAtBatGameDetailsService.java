@@ -1,28 +1,357 @@
 package com.example.baseball.service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.example.baseball.entity.VAtBatGameDetails;
+import com.example.baseball.entity.AtBatRowProjection;
+import com.example.baseball.entity.MatchResult;
+import com.example.baseball.entity.StatLine;
 import com.example.baseball.repository.VAtBatGameDetailsRepository;
+import com.example.baseball.util.BaseballUtil;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
 
 @Service
 public class VAtBatGameDetailsService {
+	// 打席結果の分類コード。RESULT_CD が未設定の行は AtBatOutcome.classify と同じ判定順で RESULT から分類する
+	// （集計をJavaで行う場合の AtBatOutcome.resolve と同じ結果にする）
+	private static final String OUTCOME_CD = "COALESCE(vag.RESULT_CD, CASE "
+			+ "WHEN vag.RESULT LIKE '%本%' THEN 4 "
+			+ "WHEN vag.RESULT LIKE '%３%' THEN 3 "
+			+ "WHEN vag.RESULT LIKE '%２%' THEN 2 "
+			+ "WHEN vag.RESULT LIKE '%安%' THEN 1 "
+			+ "WHEN vag.RESULT LIKE '%四%' THEN 5 "
+			+ "WHEN vag.RESULT = '死　球' THEN 6 "
+			+ "WHEN vag.RESULT LIKE '%犠打%' THEN 7 "
+			+ "WHEN vag.RESULT LIKE '%犠飛%' THEN 8 "
+			+ "WHEN vag.RESULT = '三　振' THEN 9 "
+			+ "ELSE 0 END)";
+
+	// 投手ごと・打者ごとの集計用SELECT句（分類コードは AtBatOutcome のコード値）
+	// 選手・チームはグループ内の最初の打席（最小の打席ID）の値を使うため、ここでは打席IDのみ取得する
+	private static final String AGGREGATE_SELECT = "SELECT "
+			+ "MIN(vag.AT_BAT_ID) AS firstAtBatId, "
+			+ "COUNT(DISTINCT vag.PITCHER_TEAM_ID) AS pitcherTeamCount, "
+			+ "COUNT(DISTINCT vag.BATTER_TEAM_ID) AS batterTeamCount, "
+			+ "SUM(CASE WHEN " + OUTCOME_CD + " = 1 THEN 1 ELSE 0 END) AS singlesNumber, "
+			+ "SUM(CASE WHEN " + OUTCOME_CD + " = 2 THEN 1 ELSE 0 END) AS doublesNumber, "
+			+ "SUM(CASE WHEN " + OUTCOME_CD + " = 3 THEN 1 ELSE 0 END) AS triplesNumber, "
+			+ "SUM(CASE WHEN " + OUTCOME_CD + " = 4 THEN 1 ELSE 0 END) AS homeRun, "
+			+ "SUM(CASE WHEN " + OUTCOME_CD + " = 5 THEN 1 ELSE 0 END) AS fourBallNumber, "
+			+ "SUM(CASE WHEN " + OUTCOME_CD + " = 6 THEN 1 ELSE 0 END) AS hitBallNumber, "
+			+ "SUM(CASE WHEN " + OUTCOME_CD + " = 7 THEN 1 ELSE 0 END) AS sacrificeHit, "
+			+ "SUM(CASE WHEN " + OUTCOME_CD + " = 8 THEN 1 ELSE 0 END) AS sacrificeFly, "
+			+ "SUM(CASE WHEN " + OUTCOME_CD + " = 9 THEN 1 ELSE 0 END) AS strikeoutsNumber, "
+			+ "SUM(CASE WHEN " + OUTCOME_CD + " = 0 THEN 1 ELSE 0 END) AS outNumber "
+			+ "FROM V_AT_BAT_GAME_DETAILS vag";
+
+	// 集計に必要な列のみのSELECT句
+	private static final String AT_BAT_ROW_SELECT = "SELECT vag.AT_BAT_ID AS atBatId, "
+			+ "vag.PITCHER_ID AS pitcherId, vag.BATTER_ID AS batterId, "
+			+ "vag.PITCHER_TEAM_ID AS pitcherTeamId, vag.BATTER_TEAM_ID AS batterTeamId, "
+			+ "vag.GAME_DATE AS gameDate, vag.RESULT_CD AS resultCd, vag.RESULT AS result "
+			+ "FROM V_AT_BAT_GAME_DETAILS vag";
+
 	@Autowired
 	private VAtBatGameDetailsRepository vAtBatGameDetailsRepository;
+	@Autowired
+	private NameDictionaryService nameDictionaryService;
+	@PersistenceContext
+	private EntityManager entityManager;
 
 	/**
-	 * チームID、選手IDのパラメータによって打席結果を取得する
-	 * @param batterId
-	 * @param pitcherId
-	 * @param batterTeamId
+	 * チームID、選手IDのパラメータによって打席結果を1行ずつ読み込み、consumer に渡す
+	 * 結果をリストに溜めずにカーソルで読み進めるため、件数が多い検索でもメモリ使用量は集計側の保持分のみとなる。
+	 * 取得する列はID・試合日・打席結果のみで、選手名・URL等は読み込まない（NameDictionaryService で解決する）。
+	 * @param fromDate 期間の開始日（nullの場合は指定なし）
+	 * @param toDate 期間の終了日（nullの場合は指定なし）
+	 * @param consumer 打席結果を受け取る処理
+	 */
+	@Transactional(readOnly = true)
+	public void streamByBatterAndPitcher(Long pitcherTeamId, Long batterTeamId, Long pitcherId, Long batterId,
+			String selectedYear, LocalDate fromDate, LocalDate toDate, Consumer<AtBatRowProjection> consumer) {
+		ConditionalQuery query = buildMatchResultQuery(AT_BAT_ROW_SELECT,
+				pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear, fromDate, toDate);
+		Query nativeQuery = query.bind(entityManager.createNativeQuery(query.getSql(), Tuple.class))
+				// MySQL Connector/J は fetch size が Integer.MIN_VALUE の場合に1行ずつ読み込む
+				.setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+				.setHint(HibernateHints.HINT_READ_ONLY, true);
+		try (Stream<?> rows = nativeQuery.getResultStream()) {
+			rows.forEach(row -> consumer.accept(new TupleAtBatRow((Tuple) row)));
+		}
+	}
+
+	/**
+	 * 指定した投手たちと打者たちの間の打席結果を1回のクエリで読み込み、consumer に渡す
+	 * @param pitcherIds 投手IDリスト
+	 * @param batterIds 打者IDリスト
+	 * @param selectedYear 年度（"通算"の場合は全期間）
+	 * @param consumer 打席結果を受け取る処理
+	 */
+	@Transactional(readOnly = true)
+	public void streamByBattersAndPitchers(List<Long> pitcherIds, List<Long> batterIds, String selectedYear,
+			Consumer<AtBatRowProjection> consumer) {
+		ConditionalQuery query = buildMatchResultQuery(AT_BAT_ROW_SELECT, null, null, null, null, selectedYear)
+				.and("vag.PITCHER_ID IN (:pitcherIds)", "pitcherIds", pitcherIds)
+				.and("vag.BATTER_ID IN (:batterIds)", "batterIds", batterIds);
+		Query nativeQuery = query.bind(entityManager.createNativeQuery(query.getSql(), Tuple.class))
+				.setHint(HibernateHints.HINT_READ_ONLY, true);
+		try (Stream<?> rows = nativeQuery.getResultStream()) {
+			rows.forEach(row -> consumer.accept(new TupleAtBatRow((Tuple) row)));
+		}
+	}
+
+	/**
+	 * 投手ごと（投手指定なし）または打者ごと（打者指定なし）の対戦成績をDB側で集計して取得する
+	 * 打席結果の分類コードごとの件数を GROUP BY で集計し、1グループ1行のみを受け取る。
+	 * 選手・チームは1行ずつ集計する場合と同じくグループ内の最初の打席から取り（名前等は辞書から取得）、
+	 * 複数チームにまたがる場合は「複数」とする。
 	 * @param pitcherTeamId
+	 * @param batterTeamId
+	 * @param pitcherId
+	 * @param batterId
+	 * @param selectedYear
+	 * @param fromDate 期間の開始日（nullの場合は指定なし）
+	 * @param toDate 期間の終了日（nullの場合は指定なし）
+	 * @return 対戦成績リスト（チームID順、打席数の多い順）
+	 */
+	@SuppressWarnings("unchecked")
+	public List<MatchResult> aggregateMatchResults(Long pitcherTeamId, Long batterTeamId, Long pitcherId,
+			Long batterId, String selectedYear, LocalDate fromDate, LocalDate toDate) {
+		String groupColumn = pitcherId == null ? "vag.PITCHER_ID" : "vag.BATTER_ID";
+		ConditionalQuery query = buildMatchResultQuery(AGGREGATE_SELECT,
+				pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear, fromDate, toDate)
+				.append("GROUP BY " + groupColumn);
+		List<Tuple> rows = query.bind(entityManager.createNativeQuery(query.getSql(), Tuple.class)).getResultList();
+		if (rows.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		// グループごとの最初の打席
+		List<Long> firstAtBatIds = new ArrayList<>(rows.size());
+		for (Tuple row : rows) {
+			firstAtBatIds.add(((Number) row.get("firstAtBatId")).longValue());
+		}
+		Map<Long, AtBatRowProjection> firstRowById = new HashMap<>();
+		for (AtBatRowProjection firstRow : findAtBatRowsByIds(firstAtBatIds)) {
+			firstRowById.put(firstRow.getAtBatId(), firstRow);
+		}
+
+		List<MatchResult> matchResults = new ArrayList<>(rows.size());
+		for (Tuple row : rows) {
+			AtBatRowProjection firstRow = firstRowById.get(((Number) row.get("firstAtBatId")).longValue());
+			if (firstRow != null) {
+				matchResults.add(toMatchResult(row, firstRow));
+			}
+		}
+		return AtBatStatisticsService.sortResults(matchResults,
+				pitcherId == null ? MatchResult::getPitcherTeamId : MatchResult::getBatterTeamId);
+	}
+
+	private MatchResult toMatchResult(Tuple row, AtBatRowProjection firstRow) {
+		StatLine statLine = new StatLine();
+		statLine.setSinglesNumber(toInt(row.get("singlesNumber")));
+		statLine.setDoublesNumber(toInt(row.get("doublesNumber")));
+		statLine.setTriplesNumber(toInt(row.get("triplesNumber")));
+		statLine.setHomeRun(toInt(row.get("homeRun")));
+		statLine.setFourBallNumber(toInt(row.get("fourBallNumber")));
+		statLine.setHitBallNumber(toInt(row.get("hitBallNumber")));
+		statLine.setSacrificeHit(toInt(row.get("sacrificeHit")));
+		statLine.setSacrificeFly(toInt(row.get("sacrificeFly")));
+		statLine.setStrikeoutsNumber(toInt(row.get("strikeoutsNumber")));
+		statLine.setOutNumber(toInt(row.get("outNumber")));
+
+		MatchResultAccumulator accumulator = MatchResultAccumulator.of(firstRow, nameDictionaryService);
+		accumulator.merge(statLine, firstRow.getBatterTeamId(), firstRow.getPitcherTeamId());
+		MatchResult matchResult = accumulator.toMatchResult();
+		if (toInt(row.get("batterTeamCount")) > 1) {
+			matchResult.setBatterTeamId(MatchResultAccumulator.MULTIPLE_TEAM_ID);
+			matchResult.setBatterTeamNm(MatchResultAccumulator.MULTIPLE_TEAM_NM);
+		}
+		if (toInt(row.get("pitcherTeamCount")) > 1) {
+			matchResult.setPitcherTeamId(MatchResultAccumulator.MULTIPLE_TEAM_ID);
+			matchResult.setPitcherTeamNm(MatchResultAccumulator.MULTIPLE_TEAM_NM);
+		}
+		return matchResult;
+	}
+
+	private static int toInt(Object value) {
+		return value == null ? 0 : ((Number) value).intValue();
+	}
+
+	/**
+	 * 打席IDの範囲（lastAtBatId より後、maxAtBatId 以下）の打席結果を、集計に必要な列のみ取得する
+	 * @param lastAtBatId 取得済みの最大打席ID
+	 * @param maxAtBatId 取得する最大打席ID
 	 * @return
 	 */
-	public List<VAtBatGameDetails> findByBatterAndPitcher(Long pitcherTeamId, Long batterTeamId, Long pitcherId,
+	public List<AtBatRowProjection> findAtBatRowsBetween(Long lastAtBatId, Long maxAtBatId) {
+		return vAtBatGameDetailsRepository.findAtBatRowsBetween(lastAtBatId, maxAtBatId);
+	}
+
+	/**
+	 * 指定した打席IDの打席結果を、集計に必要な列のみ取得する
+	 * @param atBatIds 打席IDリスト
+	 * @return ビューに現れる打席のみ
+	 */
+	public List<AtBatRowProjection> findAtBatRowsByIds(Collection<Long> atBatIds) {
+		return vAtBatGameDetailsRepository.findAtBatRowsByIds(atBatIds);
+	}
+
+	/**
+	 * 対戦成績の検索条件のうち、指定があるものだけをWHERE句に追加する
+	 * チームIDは0（全チーム）、年度は通算の場合に条件なしとなる。
+	 * 年度は GAME_DATE の範囲条件にして、BASEBALL_GAME(GAME_DATE) のインデックスを使えるようにする。
+	 * @param select SELECT句とFROM句（ビューの別名は vag）
+	 * @return 検索SQLとパラメータ
+	 */
+	ConditionalQuery buildMatchResultQuery(String select, Long pitcherTeamId, Long batterTeamId, Long pitcherId,
 			Long batterId, String selectedYear) {
-		return vAtBatGameDetailsRepository.findByBatterAndPitcher(pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear);
+		return buildMatchResultQuery(select, pitcherTeamId, batterTeamId, pitcherId, batterId, selectedYear, null, null);
+	}
+
+	/**
+	 * 対戦成績の検索条件に期間（試合日の範囲）を加えてWHERE句を作成する
+	 * 年度と期間の両方の指定がある場合は両方の条件を満たす打席のみとなる。
+	 * @param fromDate 期間の開始日（nullの場合は指定なし）
+	 * @param toDate 期間の終了日（nullの場合は指定なし）
+	 */
+	ConditionalQuery buildMatchResultQuery(String select, Long pitcherTeamId, Long batterTeamId, Long pitcherId,
+			Long batterId, String selectedYear, LocalDate fromDate, LocalDate toDate) {
+		ConditionalQuery query = new ConditionalQuery(select);
+		if (pitcherId != null) {
+			query.and("vag.PITCHER_ID = :pitcherId", "pitcherId", pitcherId);
+		}
+		if (batterId != null) {
+			query.and("vag.BATTER_ID = :batterId", "batterId", batterId);
+		}
+		if (pitcherTeamId != null && pitcherTeamId != 0L) {
+			query.and("vag.PITCHER_TEAM_ID = :pitcherTeamId", "pitcherTeamId", pitcherTeamId);
+		}
+		if (batterTeamId != null && batterTeamId != 0L) {
+			query.and("vag.BATTER_TEAM_ID = :batterTeamId", "batterTeamId", batterTeamId);
+		}
+		Integer season = BaseballUtil.parseSeason(selectedYear);
+		if (season != null) {
+			query.and("vag.GAME_DATE >= :fromDate", "fromDate", LocalDate.of(season, 1, 1));
+			query.and("vag.GAME_DATE < :toDate", "toDate", LocalDate.of(season + 1, 1, 1));
+		}
+		if (fromDate != null) {
+			query.and("vag.GAME_DATE >= :rangeFromDate", "rangeFromDate", fromDate);
+		}
+		if (toDate != null) {
+			query.and("vag.GAME_DATE <= :rangeToDate", "rangeToDate", toDate);
+		}
+		return query;
+	}
+
+	/**
+	 * 条件を組み立てるネイティブクエリ
+	 */
+	static class ConditionalQuery {
+		private final StringBuilder sql;
+		private final Map<String, Object> parameters = new LinkedHashMap<>();
+		private boolean hasCondition;
+
+		ConditionalQuery(String select) {
+			this.sql = new StringBuilder(select);
+		}
+
+		ConditionalQuery and(String predicate, String name, Object value) {
+			sql.append(hasCondition ? " AND " : " WHERE ").append(predicate);
+			parameters.put(name, value);
+			hasCondition = true;
+			return this;
+		}
+
+		ConditionalQuery append(String clause) {
+			sql.append(' ').append(clause);
+			return this;
+		}
+
+		String getSql() {
+			return sql.toString();
+		}
+
+		Map<String, Object> getParameters() {
+			return parameters;
+		}
+
+		Query bind(Query query) {
+			parameters.forEach(query::setParameter);
+			return query;
+		}
+	}
+
+	/**
+	 * Tuple を AtBatRowProjection として参照する
+	 */
+	private static class TupleAtBatRow implements AtBatRowProjection {
+		private final Tuple tuple;
+
+		TupleAtBatRow(Tuple tuple) {
+			this.tuple = tuple;
+		}
+
+		@Override
+		public Long getAtBatId() {
+			return toLong(tuple.get("atBatId"));
+		}
+
+		@Override
+		public Long getPitcherId() {
+			return toLong(tuple.get("pitcherId"));
+		}
+
+		@Override
+		public Long getBatterId() {
+			return toLong(tuple.get("batterId"));
+		}
+
+		@Override
+		public Long getPitcherTeamId() {
+			return toLong(tuple.get("pitcherTeamId"));
+		}
+
+		@Override
+		public Long getBatterTeamId() {
+			return toLong(tuple.get("batterTeamId"));
+		}
+
+		@Override
+		public Date getGameDate() {
+			return (Date) tuple.get("gameDate");
+		}
+
+		@Override
+		public Integer getResultCd() {
+			Object value = tuple.get("resultCd");
+			return value == null ? null : ((Number) value).intValue();
+		}
+
+		@Override
+		public String getResult() {
+			return (String) tuple.get("result");
+		}
+
+		private static Long toLong(Object value) {
+			return value == null ? null : ((Number) value).longValue();
+		}
 	}
 }
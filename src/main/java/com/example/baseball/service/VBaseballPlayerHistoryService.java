@@ -15,6 +15,14 @@ public class VBaseballPlayerHistoryService {
 	@Autowired
 	private VBaseballPlayerHistoryRepository vBaseballPlayerHistoryRepository;
 
+	/**
+	 * 全選手の所属履歴を取得
+	 * @return
+	 */
+	public List<VBaseballPlayerHistory> findAll() {
+		return vBaseballPlayerHistoryRepository.findAll();
+	}
+
 	/**
 	 * バッターのリストをチームIDと年度で検索
 	 * @param TeamId
@@ -0,0 +1,102 @@
+package com.example.baseball.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.baseball.entity.AtBatResult;
+import com.example.baseball.entity.BaseballGame;
+import com.example.baseball.entity.HandednessSplit;
+import com.example.baseball.entity.SplitResult;
+import com.example.baseball.entity.StatLine;
+import com.example.baseball.entity.VenueSplit;
+import com.example.baseball.entity.VenueSplitProjection;
+import com.example.baseball.repository.VenueSplitRepository;
+import com.example.baseball.util.AtBatOutcome;
+import com.example.baseball.util.BaseballUtil;
+
+/**
+ * 本拠地/ビジター別・球場別成績の集計を管理する
+ * 打席結果の取り込み時に加算し、検索時は選手の集計行のみを参照する（打席結果は走査しない）。
+ */
+@Service
+public class VenueSplitService {
+	@Autowired
+	private VenueSplitRepository venueSplitRepository;
+
+	/**
+	 * 1試合分の打席結果を本拠地/ビジター別・球場別成績に加算する
+	 * 呼び出し元のトランザクション内で実行すること（AtBatResultService.saveAtBatResult）。
+	 * @param atBatResults 打席結果
+	 * @param teamIdByPlayerId 選手IDごとの試合日時点の所属チームID（BASEBALL_PLAYER_HISTORY）
+	 * @param season 年度
+	 * @param baseballGame 試合（本拠地チーム・球場）
+	 */
+	public void addAtBatResults(List<AtBatResult> atBatResults, Map<Long, Long> teamIdByPlayerId, int season,
+			BaseballGame baseballGame) {
+		String stadium = baseballGame.getStadium();
+		boolean hasStadium = stadium != null && !stadium.isEmpty();
+
+		// 同じ集計キーの打席をまとめてから加算し、更新回数を抑える
+		Map<VenueSplit.Key, StatLine> statLineByKey = new LinkedHashMap<>();
+		for (AtBatResult atBatResult : atBatResults) {
+			Long pitcherTeamId = teamIdByPlayerId.get(atBatResult.getPitcherId());
+			Long batterTeamId = teamIdByPlayerId.get(atBatResult.getBatterId());
+			// 対戦成績集計と同じく、所属チームが特定できない打席は集計しない
+			if (pitcherTeamId == null || batterTeamId == null) {
+				continue;
+			}
+			AtBatOutcome outcome = AtBatOutcome.resolve(atBatResult.getResultCd(), atBatResult.getResult());
+			add(statLineByKey, atBatResult.getBatterId(), season, HandednessSplit.ROLE_BATTER,
+					batterTeamId, baseballGame, hasStadium, outcome);
+			add(statLineByKey, atBatResult.getPitcherId(), season, HandednessSplit.ROLE_PITCHER,
+					pitcherTeamId, baseballGame, hasStadium, outcome);
+		}
+		statLineByKey.forEach((key, statLine) -> venueSplitRepository.upsert(key.getPlayerId(), key.getSeason(),
+				key.getRole(), key.getSplitType(), key.getSplitCd(), statLine));
+	}
+
+	private void add(Map<VenueSplit.Key, StatLine> statLineByKey, Long playerId, int season, String role,
+			Long teamId, BaseballGame baseballGame, boolean hasStadium, AtBatOutcome outcome) {
+		String homeAway = teamId.equals(baseballGame.getHomeTeamId()) ? VenueSplit.HOME : VenueSplit.AWAY;
+		statLineByKey.computeIfAbsent(new VenueSplit.Key(playerId, season, role, VenueSplit.TYPE_HOME_AWAY, homeAway),
+				k -> new StatLine()).add(outcome);
+		if (hasStadium) {
+			statLineByKey.computeIfAbsent(new VenueSplit.Key(playerId, season, role, VenueSplit.TYPE_STADIUM,
+					baseballGame.getStadium()), k -> new StatLine()).add(outcome);
+		}
+	}
+
+	/**
+	 * 選手の本拠地/ビジター別・球場別成績を取得する
+	 * @param playerId
+	 * @param selectedYear 年度（"通算"の場合は全期間）
+	 * @return 分類の種類（H: 本拠地/ビジター別 / S: 球場別）ごとの成績（立場、分類コード順）
+	 */
+	public Map<String, List<SplitResult>> findSplits(Long playerId, String selectedYear) {
+		Map<String, List<SplitResult>> splitResultsByType = new LinkedHashMap<>();
+		splitResultsByType.put(VenueSplit.TYPE_HOME_AWAY, new ArrayList<>());
+		splitResultsByType.put(VenueSplit.TYPE_STADIUM, new ArrayList<>());
+		for (VenueSplitProjection split : venueSplitRepository.findSplits(playerId,
+				BaseballUtil.parseSeason(selectedYear))) {
+			List<SplitResult> splitResults = splitResultsByType.get(split.getSplitType());
+			if (splitResults == null) {
+				continue;
+			}
+			splitResults.add(SplitResult.of(split.getRole(), split.getSplitCd(),
+					toSplitNm(split.getSplitType(), split.getSplitCd()), split.toStatLine()));
+		}
+		return splitResultsByType;
+	}
+
+	private static String toSplitNm(String splitType, String splitCd) {
+		if (VenueSplit.TYPE_STADIUM.equals(splitType)) {
+			return splitCd;
+		}
+		return VenueSplit.HOME.equals(splitCd) ? "本拠地" : "ビジター";
+	}
+}
@@ -0,0 +1,126 @@
+package com.example.baseball.util;
+
+/**
+ * 打席結果の分類
+ * NPBの打席結果文字列（例: 左安、四球、死　球、投犠打）を取り込み時に一度だけ分類し、
+ * AT_BAT_RESULT.RESULT_CD にコード値として保持する。
+ * 集計時はコード値のみを参照し、日本語の部分一致判定は行わない。
+ */
+public enum AtBatOutcome {
+
+    /** 凡退（ゴロ、フライ、併殺など） */
+    OUT(0),
+    /** 単打 */
+    SINGLE(1),
+    /** 二塁打 */
+    DOUBLE(2),
+    /** 三塁打 */
+    TRIPLE(3),
+    /** 本塁打 */
+    HOME_RUN(4),
+    /** 四球 */
+    FOUR_BALL(5),
+    /** 死球 */
+    HIT_BALL(6),
+    /** 犠打 */
+    SACRIFICE_HIT(7),
+    /** 犠飛 */
+    SACRIFICE_FLY(8),
+    /** 三振 */
+    STRIKEOUT(9);
+
+    // 打席結果の判定文字列
+    private static final String SINGLE_RESULT = "安";
+    private static final String DOUBLE_RESULT = "２";
+    private static final String TRIPLE_RESULT = "３";
+    private static final String HOME_RUN_RESULT = "本";
+    private static final String FOUR_BALL_RESULT = "四";
+    private static final String HIT_BALL_RESULT = "死　球";
+    private static final String SACRIFICE_HIT_RESULT = "犠打";
+    private static final String SACRIFICE_FLY_RESULT = "犠飛";
+    private static final String STRIKEOUT_RESULT = "三　振";
+
+    private static final AtBatOutcome[] BY_CODE = new AtBatOutcome[values().length];
+
+    static {
+        for (AtBatOutcome outcome : values()) {
+            BY_CODE[outcome.code] = outcome;
+        }
+    }
+
+    private final int code;
+
+    AtBatOutcome(int code) {
+        this.code = code;
+    }
+
+    /**
+     * RESULT_CD に保存するコード値
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * NPBの打席結果文字列を分類する。取り込み時にのみ使用する。
+     * 判定順は従来の集計ロジック（ヒット → 四球 → 死球 → 犠打 → 犠飛 → 三振）に合わせている。
+     * @param result 打席結果文字列
+     * @return 打席結果の分類
+     */
+    public static AtBatOutcome classify(String result) {
+        if (result == null) {
+            return OUT;
+        }
+        if (result.contains(HOME_RUN_RESULT)) {
+            return HOME_RUN;
+        }
+        if (result.contains(TRIPLE_RESULT)) {
+            return TRIPLE;
+        }
+        if (result.contains(DOUBLE_RESULT)) {
+            return DOUBLE;
+        }
+        if (result.contains(SINGLE_RESULT)) {
+            return SINGLE;
+        }
+        if (result.contains(FOUR_BALL_RESULT)) {
+            return FOUR_BALL;
+        }
+        if (result.equals(HIT_BALL_RESULT)) {
+            return HIT_BALL;
+        }
+        if (result.contains(SACRIFICE_HIT_RESULT)) {
+            return SACRIFICE_HIT;
+        }
+        if (result.contains(SACRIFICE_FLY_RESULT)) {
+            return SACRIFICE_FLY;
+        }
+        if (result.equals(STRIKEOUT_RESULT)) {
+            return STRIKEOUT;
+        }
+        return OUT;
+    }
+
+    /**
+     * コード値から分類を取得する
+     * @param code RESULT_CD
+     * @return 打席結果の分類
+     */
+    public static AtBatOutcome fromCode(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("未定義の打席結果コード: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * コード値から分類を取得する。
+     * RESULT_CD が未設定（移行スクリプト適用前）の行のみ打席結果文字列から分類する。
+     * @param code RESULT_CD
+     * @param result 打席結果文字列
+     * @return 打席結果の分類
+     */
+    public static AtBatOutcome resolve(Integer code, String result) {
+        return code != null ? fromCode(code) : classify(result);
+    }
+}
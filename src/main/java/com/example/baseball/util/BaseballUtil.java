@@ -2,246 +2,90 @@ package com.example.baseball.util;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.List;
-
-import org.thymeleaf.util.StringUtils;
-
-import com.example.baseball.entity.VAtBatGameDetails;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
 
 public class BaseballUtil {
 
-    // 定数の導入
-    private static final String SINGLE_RESULT = "安";
-    private static final String DOUBLE_RESULT = "２";
-    private static final String TRIPLE_RESULT = "３";
-    private static final String HOME_RUN_RESULT = "本";
-    private static final String FOUR_BALL_RESULT = "四";
-    private static final String HIT_BALL_RESULT = "死　球";
-    private static final String SACRIFICE_HIT_RESULT = "犠打";
-    private static final String SACRIFICE_FLY_RESULT = "犠飛";
-    private static final String STRIKEOUT_RESULT = "三　振";
+    // 画面の年度選択で通算を表す値
+    public static final String CAREER = "通算";
 
     /**
-     * 打率を計算するメソッド。
-     * 部分一致を使用してヒット判定を行います。
-     * @param vAtBatGameDetails 打席結果のリスト
-     * @return 打率
+     * 画面で選択された年度を数値に変換する。通算または未指定の場合はnullを返す。
+     * @param selectedYear 選択年度（例: "2024"、"通算"）
+     * @return 年度
      */
-    public static BigDecimal calculateBattingAverage(List<VAtBatGameDetails> vAtBatGameDetails) {
-        int hits = 0;
-        int atBats = 0;
-        for (VAtBatGameDetails detail : vAtBatGameDetails) {
-            String result = detail.getResult();
-            // 部分一致によるヒット判定
-            if (result.contains(SINGLE_RESULT) || result.contains(DOUBLE_RESULT) ||
-                result.contains(TRIPLE_RESULT) || result.contains(HOME_RUN_RESULT)) {
-                hits++;
-                atBats++;
-            } 
-            // フォアボール、デッドボール、犠打、犠牲フライは無視する
-            else if (!result.contains(FOUR_BALL_RESULT) &&
-                     !StringUtils.equals(result, HIT_BALL_RESULT) &&
-                     !result.contains(SACRIFICE_HIT_RESULT) &&
-                     !result.contains(SACRIFICE_FLY_RESULT)) {
-                atBats++;
-            }
-        }
-        if (atBats == 0) {
-            return BigDecimal.ZERO.setScale(3, RoundingMode.HALF_UP);
+    public static Integer parseSeason(String selectedYear) {
+        if (selectedYear == null || selectedYear.isEmpty() || CAREER.equals(selectedYear)) {
+            return null;
         }
-        return BigDecimal.valueOf(hits)
-            .divide(BigDecimal.valueOf(atBats), 3, RoundingMode.HALF_UP);
+        return Integer.valueOf(selectedYear);
     }
 
     /**
-     * 出塁率を計算するメソッド。
-     * @param vAtBatGameDetails 打席結果のリスト
-     * @return 出塁率
+     * DBから取得した日付をLocalDateに変換する（java.sql.Date は toInstant() が使えないため個別に変換）
+     * @param date 日付
+     * @return LocalDate（nullの場合はnull）
      */
-    public static BigDecimal calculateOnBasePercentage(List<VAtBatGameDetails> vAtBatGameDetails) {
-        int hitCount = calculateHitNumber(vAtBatGameDetails);
-        int fourHitBallCount = calculateFourHitBallNumber(vAtBatGameDetails);
-
-        if (vAtBatGameDetails.size() == 0) {
-            return BigDecimal.ZERO.setScale(3, RoundingMode.HALF_UP);
+    public static LocalDate toLocalDate(Date date) {
+        if (date == null) {
+            return null;
         }
-
-        // 出塁率の計算
-        return BigDecimal.valueOf(hitCount + fourHitBallCount)
-                .divide(BigDecimal.valueOf(vAtBatGameDetails.size()), 3, RoundingMode.HALF_UP);
-    }
-
-    /**
-     * 長打率を計算するメソッド。
-     * @param vAtBatGameDetails 打席結果のリスト
-     * @return 長打率
-     */
-    public static BigDecimal calculateSluggingPercentage(List<VAtBatGameDetails> vAtBatGameDetails) {
-        int baseHitsNumber = calculateBaseHitsNumber(vAtBatGameDetails);
-        int strokesNumber = calculateStrokesNumber(vAtBatGameDetails);
-
-        if (strokesNumber == 0) {
-            return BigDecimal.ZERO.setScale(3, RoundingMode.HALF_UP);
+        if (date instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
         }
-
-        // 長打率の計算
-        return BigDecimal.valueOf(baseHitsNumber)
-                .divide(BigDecimal.valueOf(strokesNumber), 3, RoundingMode.HALF_UP);
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
     }
 
     /**
-     * OPSを計算するメソッド。
-     * @param vAtBatGameDetails 打席結果のリスト
-     * @return OPS
-     */
-    public static BigDecimal calculateOps(List<VAtBatGameDetails> vAtBatGameDetails) {
-        BigDecimal sluggingPercentage = calculateSluggingPercentage(vAtBatGameDetails);
-        BigDecimal onBasePercentage = calculateOnBasePercentage(vAtBatGameDetails);
-
-        // OPSの計算
-        return sluggingPercentage.add(onBasePercentage);
-    }
-
-    /**
-     * 打数を計算するメソッド。
-     * @param vAtBatGameDetails 打席結果のリスト
-     * @return 打数
-     */
-    public static int calculateStrokesNumber(List<VAtBatGameDetails> vAtBatGameDetails) {
-        int count = 0;
-        for (VAtBatGameDetails detail : vAtBatGameDetails) {
-            String result = detail.getResult();
-            if (result.contains(FOUR_BALL_RESULT) || StringUtils.equals(result, HIT_BALL_RESULT) ||
-                result.contains(SACRIFICE_HIT_RESULT) || result.contains(SACRIFICE_FLY_RESULT)) {
-                count++;
-            }
-        }
-        return vAtBatGameDetails.size() - count;
-    }
-
-    /**
-     * ヒット数を計算するメソッド。
-     * 部分一致でヒット判定。
-     * @param vAtBatGameDetails
-     * @return ヒット数
-     */
-    public static int calculateHitNumber(List<VAtBatGameDetails> vAtBatGameDetails) {
-        int count = 0;
-        for (VAtBatGameDetails detail : vAtBatGameDetails) {
-            String result = detail.getResult();
-            if (result.contains(SINGLE_RESULT) || result.contains(DOUBLE_RESULT) ||
-                result.contains(TRIPLE_RESULT) || result.contains(HOME_RUN_RESULT)) {
-                count++;
-            }
-        }
-        return count;
-    }
-
-    /**
-     * 単打数
-     */
-    public static int calculateSinglesNumber(List<VAtBatGameDetails> vAtBatGameDetails) {
-        return countOccurrences(vAtBatGameDetails, SINGLE_RESULT);
-    }
-
-    /**
-     * 二塁打数
-     */
-    public static int calculateDoublesNumber(List<VAtBatGameDetails> vAtBatGameDetails) {
-        return countOccurrences(vAtBatGameDetails, DOUBLE_RESULT);
-    }
-
-    /**
-     * 三塁打数
-     */
-    public static int calculateTriplesNumber(List<VAtBatGameDetails> vAtBatGameDetails) {
-        return countOccurrences(vAtBatGameDetails, TRIPLE_RESULT);
-    }
-
-    /**
-     * 本塁打数
-     */
-    public static int calculateHomeRun(List<VAtBatGameDetails> vAtBatGameDetails) {
-        return countOccurrences(vAtBatGameDetails, HOME_RUN_RESULT);
-    }
-
-    /**
-     * 四球数
-     */
-    public static int calculateFourBallNumber(List<VAtBatGameDetails> vAtBatGameDetails) {
-        return countOccurrences(vAtBatGameDetails, FOUR_BALL_RESULT);
-    }
-
-    /**
-     * 死球数
-     */
-    public static int calculateHitBallNumber(List<VAtBatGameDetails> vAtBatGameDetails) {
-        return countExactOccurrences(vAtBatGameDetails, HIT_BALL_RESULT);
-    }
-
-    /**
-     * 四死球数
-     */
-    public static int calculateFourHitBallNumber(List<VAtBatGameDetails> vAtBatGameDetails) {
-        return countExactOccurrences(vAtBatGameDetails, HIT_BALL_RESULT) +
-               countOccurrences(vAtBatGameDetails, FOUR_BALL_RESULT);
-    }
-
-    /**
-     * 犠打数
-     */
-    public static int calculateSacrificeHit(List<VAtBatGameDetails> vAtBatGameDetails) {
-        return countExactOccurrences(vAtBatGameDetails, SACRIFICE_HIT_RESULT);
-    }
-
-    /**
-     * 犠飛数
+     * 打率を計算するメソッド。
+     * @param hitNumber ヒット数
+     * @param strokesNumber 打数
+     * @return 打率
      */
-    public static int calculateSacrificeFly(List<VAtBatGameDetails> vAtBatGameDetails) {
-        return countExactOccurrences(vAtBatGameDetails, SACRIFICE_FLY_RESULT);
+    public static BigDecimal calculateBattingAverage(int hitNumber, int strokesNumber) {
+        return divide(hitNumber, strokesNumber);
     }
 
     /**
-     * 三振数
+     * 出塁率を計算するメソッド。
+     * @param onBaseNumber 出塁数（ヒット＋四死球）
+     * @param atBatNumber 打席数
+     * @return 出塁率
      */
-    public static int calculateStrikeoutsNumber(List<VAtBatGameDetails> vAtBatGameDetails) {
-        return countExactOccurrences(vAtBatGameDetails, STRIKEOUT_RESULT);
+    public static BigDecimal calculateOnBasePercentage(int onBaseNumber, int atBatNumber) {
+        return divide(onBaseNumber, atBatNumber);
     }
 
     /**
-     * 塁打数
+     * 長打率を計算するメソッド。
+     * @param baseHitsNumber 塁打数
+     * @param strokesNumber 打数
+     * @return 長打率
      */
-    public static int calculateBaseHitsNumber(List<VAtBatGameDetails> vAtBatGameDetails) {
-        int singleCount = calculateSinglesNumber(vAtBatGameDetails);
-        int doubleCount = calculateDoublesNumber(vAtBatGameDetails) * 2;
-        int tripleCount = calculateTriplesNumber(vAtBatGameDetails) * 3;
-        int homeRunCount = calculateHomeRun(vAtBatGameDetails) * 4;
-        return singleCount + doubleCount + tripleCount + homeRunCount;
+    public static BigDecimal calculateSluggingPercentage(int baseHitsNumber, int strokesNumber) {
+        return divide(baseHitsNumber, strokesNumber);
     }
 
     /**
-     * 指定された結果が含まれる打席数をカウントするユーティリティメソッド(部分一致)。
+     * OPSを計算するメソッド。
+     * @param onBasePercentage 出塁率
+     * @param sluggingPercentage 長打率
+     * @return OPS
      */
-    private static int countOccurrences(List<VAtBatGameDetails> vAtBatGameDetails, String result) {
-        int count = 0;
-        for (VAtBatGameDetails detail : vAtBatGameDetails) {
-            if (detail.getResult().contains(result)) {
-                count++;
-            }
-        }
-        return count;
+    public static BigDecimal calculateOps(BigDecimal onBasePercentage, BigDecimal sluggingPercentage) {
+        return sluggingPercentage.add(onBasePercentage);
     }
 
     /**
-     * 指定された結果が正確に一致する打席数をカウントするユーティリティメソッド。
+     * 小数点以下3桁で割り算をするユーティリティメソッド。分母が0の場合は0を返す。
      */
-    private static int countExactOccurrences(List<VAtBatGameDetails> vAtBatGameDetails, String result) {
-        int count = 0;
-        for (VAtBatGameDetails detail : vAtBatGameDetails) {
-            if (StringUtils.equals(detail.getResult(), result)) {
-                count++;
-            }
+    private static BigDecimal divide(int numerator, int denominator) {
+        if (denominator == 0) {
+            return BigDecimal.ZERO.setScale(3, RoundingMode.HALF_UP);
         }
-        return count;
+        return BigDecimal.valueOf(numerator)
+                .divide(BigDecimal.valueOf(denominator), 3, RoundingMode.HALF_UP);
     }
-}
\ No newline at end of file
+}
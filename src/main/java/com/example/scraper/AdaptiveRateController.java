@@ -0,0 +1,127 @@
+package com.example.scraper;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Yahoo! へのリクエスト間隔を応答に応じて調整する（AIMD）
+ *
+ * 正常な応答のたびにリクエスト数（1秒あたり）を一定量ずつ増やし、
+ * 429/403 やタイムアウトの場合は一定の割合で減らす。リクエスト数は上限・下限の範囲に収め、
+ * 間隔には周期的なアクセスにならないよう±jitterの揺らぎを加える。
+ * 現在のリクエスト数は JMX（com.example.scraper:name=YahooRateController）で参照できる。
+ */
+@Component
+@ManagedResource(objectName = "com.example.scraper:name=YahooRateController")
+public class AdaptiveRateController {
+
+	private static final Logger log = LoggerFactory.getLogger(AdaptiveRateController.class);
+
+	@Value("${baseball.yahoo-scraper.initial-requests-per-second:0.15}")
+	private double initialRate;
+	@Value("${baseball.yahoo-scraper.min-requests-per-second:0.01}")
+	private double minRate;
+	@Value("${baseball.yahoo-scraper.max-requests-per-second:0.5}")
+	private double maxRate;
+	// 正常な応答1件ごとに増やすリクエスト数（1秒あたり）
+	@Value("${baseball.yahoo-scraper.increase-per-success:0.005}")
+	private double increasePerSuccess;
+	// 429/403・タイムアウトの場合にリクエスト数に掛ける割合
+	@Value("${baseball.yahoo-scraper.decrease-factor:0.5}")
+	private double decreaseFactor;
+	// 間隔の揺らぎ（0.2 の場合は±20%）
+	@Value("${baseball.yahoo-scraper.jitter:0.2}")
+	private double jitter;
+
+	private double rate;
+	// 次のリクエストを送信できる時刻（System.nanoTime）
+	private long nextRequestAt = System.nanoTime();
+	private long successCount;
+	private long throttledCount;
+
+	@PostConstruct
+	void init() {
+		rate = clamp(initialRate);
+	}
+
+	/**
+	 * 次のリクエストを送信できるまで待つ
+	 * @throws InterruptedException 待機中に中断された場合
+	 */
+	public void acquire() throws InterruptedException {
+		long waitNanos;
+		synchronized (this) {
+			long now = System.nanoTime();
+			long start = Math.max(now, nextRequestAt);
+			double factor = 1 + jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+			nextRequestAt = start + (long) (TimeUnit.SECONDS.toNanos(1) / rate * factor);
+			waitNanos = start - now;
+		}
+		if (waitNanos > 0) {
+			log.debug("待機中: {}ms", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+
+	/**
+	 * 正常な応答を受け取った（リクエスト数を加算で増やす）
+	 */
+	public synchronized void onSuccess() {
+		successCount++;
+		rate = clamp(rate + increasePerSuccess);
+	}
+
+	/**
+	 * 429/403・タイムアウト等でアクセス過多と判断した（リクエスト数を乗算で減らす）
+	 * 次のリクエストは減らした後の間隔を空けてから送信する。
+	 * @param reason ログ出力用の理由
+	 */
+	public synchronized void onThrottled(String reason) {
+		throttledCount++;
+		double previous = rate;
+		rate = clamp(rate * decreaseFactor);
+		nextRequestAt = Math.max(nextRequestAt,
+				System.nanoTime() + (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+		log.warn("アクセス過多を検出（{}）: {} → {} req/s", reason, format(previous), format(rate));
+	}
+
+	/**
+	 * 現在のリクエスト数（1秒あたり）
+	 */
+	@ManagedAttribute(description = "現在のリクエスト数（1秒あたり）")
+	public synchronized double getCurrentRate() {
+		return rate;
+	}
+
+	@ManagedAttribute(description = "リクエスト数の上限（1秒あたり）")
+	public double getMaxRate() {
+		return maxRate;
+	}
+
+	@ManagedAttribute(description = "正常な応答の件数")
+	public synchronized long getSuccessCount() {
+		return successCount;
+	}
+
+	@ManagedAttribute(description = "アクセス過多と判断した件数")
+	public synchronized long getThrottledCount() {
+		return throttledCount;
+	}
+
+	private double clamp(double value) {
+		return Math.max(minRate, Math.min(maxRate, value));
+	}
+
+	private static String format(double value) {
+		return String.format("%.3f", value);
+	}
+}
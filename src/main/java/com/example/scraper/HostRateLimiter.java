@@ -0,0 +1,68 @@
+package com.example.scraper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * ホストごとのリクエスト数の上限（トークンバケット）
+ * 1秒あたり max-requests-per-second 件のトークンを補充し、最大 burst 件まで貯められる。
+ * トークンがない場合は予約して補充されるまで待つため、複数スレッドから呼ばれても
+ * 同じホストへのリクエストが上限を超えることはない。
+ */
+@Component
+public class HostRateLimiter {
+
+	@Value("${baseball.scraper.max-requests-per-second:2.0}")
+	private double maxRequestsPerSecond;
+
+	@Value("${baseball.scraper.burst:2}")
+	private int burst;
+
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+	/**
+	 * ホストへのリクエストを1件許可されるまで待つ
+	 * @param host
+	 * @throws InterruptedException 待機中に中断された場合
+	 */
+	public void acquire(String host) throws InterruptedException {
+		long waitNanos = buckets.computeIfAbsent(host, h -> new Bucket(maxRequestsPerSecond, burst)).reserve();
+		if (waitNanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+
+	/**
+	 * ホストごとのトークンバケット
+	 */
+	private static final class Bucket {
+		// トークン1件の補充にかかる時間
+		private final double nanosPerToken;
+		private final int capacity;
+		// 残りのトークン（負の場合は予約済みで補充待ち）
+		private double tokens;
+		private long lastRefill = System.nanoTime();
+
+		private Bucket(double requestsPerSecond, int capacity) {
+			this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+			this.capacity = Math.max(1, capacity);
+			this.tokens = this.capacity;
+		}
+
+		/**
+		 * トークンを1件予約する
+		 * @return 予約したトークンが補充されるまでの待ち時間（ナノ秒）
+		 */
+		synchronized long reserve() {
+			long now = System.nanoTime();
+			tokens = Math.min(capacity, tokens + (now - lastRefill) / nanosPerToken);
+			lastRefill = now;
+			tokens -= 1;
+			return tokens >= 0 ? 0 : (long) (-tokens * nanosPerToken);
+		}
+	}
+}
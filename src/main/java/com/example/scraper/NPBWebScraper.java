@@ -4,22 +4,33 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.example.baseball.entity.AtBatResult;
@@ -27,11 +38,15 @@ import com.example.baseball.entity.BaseballGame;
 import com.example.baseball.entity.BaseballPlayer;
 import com.example.baseball.entity.BaseballPlayerHistory;
 import com.example.baseball.entity.BaseballTeam;
+import com.example.baseball.entity.ScrapeCheckpoint;
 import com.example.baseball.service.AtBatResultService;
 import com.example.baseball.service.BaseballGameService;
 import com.example.baseball.service.BaseballPlayerHistoryService;
 import com.example.baseball.service.BaseballPlayerService;
 import com.example.baseball.service.BaseballTeamService;
+import com.example.baseball.service.DataVersionService;
+import com.example.baseball.service.ScrapeCheckpointService;
+import com.example.baseball.util.AtBatOutcome;
 import com.example.scraper.entity.BatterPitcherInfoList;
 import com.example.scraper.entity.BatterResults;
 import com.example.scraper.entity.ConvBatterResults;
@@ -60,6 +75,24 @@ public class NPBWebScraper {
 	private BaseballPlayerService baseballPlayerService;
 	@Autowired
 	private BaseballPlayerHistoryService baseballPlayerHistoryService; 
+	@Autowired
+	private DataVersionService dataVersionService;
+	@Autowired
+	private PageFetcher pageFetcher;
+	@Autowired
+	private ScrapeCheckpointService scrapeCheckpointService;
+
+	// ページ取得・解析のスレッド数
+	@Value("${baseball.scraper.fetch-threads:4}")
+	private int fetchThreads;
+	@Value("${baseball.scraper.parse-threads:2}")
+	private int parseThreads;
+	// 段階間のキューの容量
+	@Value("${baseball.scraper.queue-capacity:16}")
+	private int queueCapacity;
+	// 保存待ちの試合数の上限
+	@Value("${baseball.scraper.max-in-flight-games:32}")
+	private int maxInFlightGames;
 
 	private static final List<String> years = Arrays.asList(
 //			"2016", "2017", "2018", "2019", "2020", "2021", "2022", "2023", "2024","2025");
@@ -68,8 +101,19 @@ public class NPBWebScraper {
 	private static final List<String> months = Arrays.asList(
 						"03", "04", "05", "06", "07", "08", "09", "10", "11");
 
+	// 試合のリンクに含まれる年・月日
+	private static final Pattern GAME_LINK_DATE = Pattern.compile("/scores/(\\d{4})/(\\d{4})/");
+
 	/**
 	 * 打席結果を取得
+	 * 以下の段階を容量制限付きのキューでつなぎ、並行に実行する。
+	 *   1. リンク取得（1スレッド）: 日程ページから未取得の試合のリンクを列挙する
+	 *   2. ページ取得（fetch-threads）: 試合のページを取得する（ホストごとの上限は HostRateLimiter）
+	 *   3. 解析（parse-threads）: 試合情報・打者/投手の結果を抽出する（DBへの書き込みは行わない）
+	 *   4. 保存（呼び出し元スレッド）: 選手IDの解決、打席結果の保存をリンクの列挙順に1試合ずつ行う
+	 * 途中で例外が発生した場合は、それより前の試合までを保存して例外を送出する（逐次処理と同じ）。
+	 * 保存した試合は SCRAPE_CHECKPOINT に記録し、次回の実行はその次の試合から再開する。
+	 * 1試合以上保存した場合は、途中で失敗しても画面APIのキャッシュ（データバージョン）を更新する。
 	 * @throws IOException
 	 * @throws ParseException
 	 */
@@ -77,45 +121,335 @@ public class NPBWebScraper {
 //	@Scheduled(cron = "0 0 9 * * ?", zone = "Asia/Tokyo")
 	public void scrapeData() throws IOException, ParseException {
 		System.out.println("はじまり〜");
-		for (String year : years) {
-			for (String month : months) {
-				String url = "https://npb.jp/games/" + year + "/schedule_" + month + "_detail.html";
-				List<String> gameLinks = getGameLinks(url, year);
-				// 年と月でリンクが存在している場合
-				if (gameLinks != null) {
-					// 当日の試合を除外
-					filterOutSpecificDates(gameLinks);
-					for (String gameLink : gameLinks) {
-						// 試合結果を取得
-						BaseballGame baseballGame = getGameInfo(gameLink);
-						if (baseballGame != null) {
-							System.out.println(baseballGame.getGameDate()+"開始");
-							// 打席結果を取得
-							BatterPitcherInfoList batterPitcherInfo = parseGameDetails(gameLink);
-							if (batterPitcherInfo != null) {
-								convertPlayer(batterPitcherInfo, baseballGame);
-							}
-							System.out.println(baseballGame.getGameDate()+"終了");
+		pageFetcher.resetStats();
+
+		BlockingQueue<GameTask> linkQueue = new ArrayBlockingQueue<>(queueCapacity);
+		BlockingQueue<GameTask> pageQueue = new ArrayBlockingQueue<>(queueCapacity);
+		BlockingQueue<GameTask> parsedQueue = new ArrayBlockingQueue<>(queueCapacity);
+		// 保存待ちの試合数の上限（保存の並べ替え待ちを含む）
+		Semaphore inFlightGames = new Semaphore(maxInFlightGames);
+		// 保存が失敗した場合に、以降のリンク取得・ページ取得を止める
+		AtomicBoolean cancelled = new AtomicBoolean();
+		// 保存した試合数
+		AtomicInteger persistedGames = new AtomicInteger();
+		// 打者・投手の結果を取得できずに飛ばした試合のリンク（実行の最後に出力する）
+		List<String> skippedGames = new ArrayList<>();
+
+		ExecutorService discoverer = Executors.newSingleThreadExecutor(namedThreads("npb-discover"));
+		ExecutorService fetchers = Executors.newFixedThreadPool(fetchThreads, namedThreads("npb-fetch"));
+		ExecutorService parsers = Executors.newFixedThreadPool(parseThreads, namedThreads("npb-parse"));
+		try {
+			discoverer.execute(() -> discoverGames(linkQueue, inFlightGames, cancelled));
+			AtomicInteger runningFetchers = new AtomicInteger(fetchThreads);
+			for (int i = 0; i < fetchThreads; i++) {
+				fetchers.execute(() -> runStage(linkQueue, pageQueue, runningFetchers, parseThreads, task -> {
+					if (!cancelled.get()) {
+						task.doc = pageFetcher.fetch(task.gameLink);
+					}
+				}));
+			}
+			AtomicInteger runningParsers = new AtomicInteger(parseThreads);
+			for (int i = 0; i < parseThreads; i++) {
+				parsers.execute(() -> runStage(pageQueue, parsedQueue, runningParsers, 1, task -> {
+					if (task.doc != null) {
+						task.baseballGame = getGameInfo(task.doc);
+						if (task.baseballGame != null) {
+							task.batterPitcherInfo = parseGameDetails(task.doc);
 						}
+						// 解析後のページは保持しない
+						task.doc = null;
 					}
+				}));
+			}
+			Exception failure = persistGames(parsedQueue, inFlightGames, cancelled, persistedGames,
+					skippedGames);
+			if (failure instanceof IOException e) {
+				throw e;
+			}
+			if (failure instanceof ParseException e) {
+				throw e;
+			}
+			if (failure instanceof RuntimeException e) {
+				throw e;
+			}
+			if (failure != null) {
+				throw new IllegalStateException(failure);
+			}
+		} finally {
+			discoverer.shutdownNow();
+			fetchers.shutdownNow();
+			parsers.shutdownNow();
+			if (!skippedGames.isEmpty()) {
+				System.out.println("打者・投手の結果を取得できなかったため飛ばした試合（" + skippedGames.size()
+						+ " 件、自動では再取得しません）: " + skippedGames);
+			}
+			// 画面APIのキャッシュ（ETag）を更新する（失敗した場合も、それまでに保存した試合を反映する）
+			if (persistedGames.get() > 0) {
+				try {
+					dataVersionService.bump();
+				} catch (RuntimeException e) {
+					System.out.println("データバージョンの更新に失敗しました: " + e.getMessage());
 				}
 			}
 		}
+		pageFetcher.logStats("NPBWebScraper");
 		System.out.println("おわり〜");
 	}
 
+	/**
+	 * リンク取得の段階。対象の年月の日程ページから試合のリンクを列挙する。
+	 * 終了時（例外・中止を含む）は、ページ取得の各スレッドに終了を通知する。
+	 */
+	private void discoverGames(BlockingQueue<GameTask> linkQueue, Semaphore inFlightGames, AtomicBoolean cancelled) {
+		int sequence = 0;
+		try {
+			// 前回の実行で最後に保存した試合
+			ScrapeCheckpoint checkpoint = scrapeCheckpointService.find(ScrapeCheckpoint.SCRAPER_NPB);
+			if (checkpoint != null) {
+				System.out.println(checkpoint.getLastDate() + " " + checkpoint.getLastGame() + " の次から再開します");
+			}
+			for (String year : years) {
+				for (String month : months) {
+					// 保存済みの試合日より前の月は取得しない
+					if (checkpoint != null && checkpoint.getLastDate() != null && YearMonth
+							.of(Integer.parseInt(year), Integer.parseInt(month))
+							.isBefore(YearMonth.from(checkpoint.getLastDate()))) {
+						continue;
+					}
+					String url = "https://npb.jp/games/" + year + "/schedule_" + month + "_detail.html";
+					List<String> gameLinks;
+					try {
+						gameLinks = getGameLinks(url, year, checkpoint);
+					} catch (IOException | ParseException | RuntimeException e) {
+						// 保存の段階で失敗として扱う
+						inFlightGames.acquire();
+						linkQueue.put(GameTask.failed(sequence++, url, e));
+						return;
+					}
+					// 年と月でリンクが存在している場合
+					if (gameLinks != null) {
+						// 当日の試合を除外
+						filterOutSpecificDates(gameLinks);
+						for (String gameLink : gameLinks) {
+							if (cancelled.get()) {
+								return;
+							}
+							inFlightGames.acquire();
+							linkQueue.put(new GameTask(sequence++, gameLink));
+						}
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			putEndMarkers(linkQueue, fetchThreads);
+		}
+	}
+
+	/**
+	 * ページ取得・解析の段階。入力のキューから取り出した試合を処理して次のキューに渡す。
+	 * 失敗した試合はエラーを持たせたまま次に渡し、保存の段階で扱う。
+	 * 同じ段階の最後のスレッドが終了する際に、次の段階の各スレッドに終了を通知する。
+	 */
+	private void runStage(BlockingQueue<GameTask> input, BlockingQueue<GameTask> output, AtomicInteger running,
+			int nextStageThreads, GameStage stage) {
+		try {
+			while (true) {
+				GameTask task = input.take();
+				if (task == GameTask.END) {
+					return;
+				}
+				if (task.error == null) {
+					try {
+						stage.process(task);
+					} catch (IOException | ParseException | RuntimeException e) {
+						task.error = e;
+						task.doc = null;
+					}
+				}
+				output.put(task);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			if (running.decrementAndGet() == 0) {
+				putEndMarkers(output, nextStageThreads);
+			}
+		}
+	}
+
+	/**
+	 * 保存の段階。解析済みの試合をリンクの列挙順に並べ直し、1試合ずつ保存する。
+	 * 打者・投手の結果を取得できない試合は、取り直しても結果が変わらないため skippedGames に記録して進捗を進める。
+	 * @return 最初に失敗した試合の例外（すべて成功した場合はnull）
+	 */
+	private Exception persistGames(BlockingQueue<GameTask> parsedQueue, Semaphore inFlightGames,
+			AtomicBoolean cancelled, AtomicInteger persistedGames, List<String> skippedGames) {
+		Map<Integer, GameTask> pending = new HashMap<>();
+		int nextSequence = 0;
+		Exception failure = null;
+		try {
+			while (true) {
+				GameTask parsed = parsedQueue.take();
+				if (parsed == GameTask.END) {
+					return failure;
+				}
+				pending.put(parsed.sequence, parsed);
+				for (GameTask task = pending.remove(nextSequence); task != null;
+						task = pending.remove(nextSequence)) {
+					nextSequence++;
+					inFlightGames.release();
+					if (failure != null) {
+						continue;
+					}
+					if (task.error == null) {
+						try {
+							if (task.baseballGame != null && task.batterPitcherInfo == null) {
+								// ページの構成が想定と異なる（取り直しても変わらない）ため、記録して次の試合に進む
+								System.out.println(task.gameLink + " の打者・投手の結果を取得できないため飛ばします");
+								skippedGames.add(task.gameLink);
+							} else if (persistGame(task)) {
+								persistedGames.incrementAndGet();
+							}
+							scrapeCheckpointService.saveGame(ScrapeCheckpoint.SCRAPER_NPB,
+									gameDateOfLink(task.gameLink), task.gameLink);
+						} catch (RuntimeException e) {
+							task.error = e;
+						}
+					}
+					if (task.error != null) {
+						System.out.println(task.gameLink + " の取得に失敗しました: " + task.error.getMessage());
+						failure = task.error;
+						cancelled.set(true);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return failure != null ? failure : new IOException("スクレイピングが中断されました", e);
+		}
+	}
+
+	/**
+	 * 1試合分の選手IDを解決し、打席結果を保存する
+	 * 特別試合（試合情報がnull）は取り込み対象外のため保存せずに終了する。
+	 * @return 保存した場合はtrue（特別試合の場合はfalse）
+	 */
+	private boolean persistGame(GameTask task) {
+		BaseballGame baseballGame = task.baseballGame;
+		if (baseballGame == null) {
+			return false;
+		}
+		System.out.println(baseballGame.getGameDate()+"開始");
+		resolvePlayerIds(task.batterPitcherInfo);
+		convertPlayer(task.batterPitcherInfo, baseballGame);
+		System.out.println(baseballGame.getGameDate()+"終了");
+		return true;
+	}
+
+	/**
+	 * 打者・投手の選手ページURLから選手IDを解決する（未登録の選手はここで登録する）
+	 * 同じ試合の同じ選手は1回だけ解決する。
+	 */
+	private void resolvePlayerIds(BatterPitcherInfoList batterPitcherInfo) {
+		Map<String, Long> playerIdByUrl = new HashMap<>();
+		for (List<BatterResults> batterResultList : Arrays.asList(batterPitcherInfo.getTopBatterResults(),
+				batterPitcherInfo.getBottomBatterResults())) {
+			for (BatterResults batterResults : batterResultList) {
+				batterResults.setBatterId(playerIdByUrl.computeIfAbsent(batterResults.getPlayerUrl(),
+						this::getPlayerIdByNpbId));
+			}
+		}
+		for (List<PitcherResults> pitcherResultList : Arrays.asList(batterPitcherInfo.getTopPitcherResults(),
+				batterPitcherInfo.getBottomPitcherResults())) {
+			for (PitcherResults pitcherResults : pitcherResultList) {
+				pitcherResults.setPitcherId(playerIdByUrl.computeIfAbsent(pitcherResults.getPlayerUrl(),
+						this::getPlayerIdByNpbId));
+			}
+		}
+	}
+
+	private static void putEndMarkers(BlockingQueue<GameTask> queue, int count) {
+		try {
+			for (int i = 0; i < count; i++) {
+				queue.put(GameTask.END);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static ThreadFactory namedThreads(String prefix) {
+		AtomicInteger number = new AtomicInteger();
+		return r -> {
+			Thread thread = new Thread(r, prefix + "-" + number.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * ページ取得・解析の段階の処理
+	 */
+	@FunctionalInterface
+	private interface GameStage {
+		void process(GameTask task) throws IOException, ParseException;
+	}
+
+	/**
+	 * パイプラインを流れる1試合分の処理状態
+	 */
+	private static final class GameTask {
+		// 各段階の終了通知
+		static final GameTask END = new GameTask(-1, null);
+
+		// リンクの列挙順（保存の順序）
+		final int sequence;
+		final String gameLink;
+		Document doc;
+		BaseballGame baseballGame;
+		BatterPitcherInfoList batterPitcherInfo;
+		Exception error;
+
+		GameTask(int sequence, String gameLink) {
+			this.sequence = sequence;
+			this.gameLink = gameLink;
+		}
+
+		static GameTask failed(int sequence, String url, Exception error) {
+			GameTask task = new GameTask(sequence, url);
+			task.error = error;
+			return task;
+		}
+	}
+
 	/**
 	 * 取得対象の試合のリンクを取得
 	 * @param month
+	 * @param checkpoint 前回の実行で最後に保存した試合（ない場合はnull）。その試合までは確認しない
 	 * @return
 	 * @throws IOException
 	 * @throws ParseException 
 	 */
-	private List<String> getGameLinks(String url, String year) throws IOException, ParseException {
-	    Document doc = Jsoup.connect(url).get();
+	private List<String> getGameLinks(String url, String year, ScrapeCheckpoint checkpoint)
+			throws IOException, ParseException {
+	    Document doc = pageFetcher.fetch(url);
 	    List<String> gameLinks = new ArrayList<>();
 
-	    for (Element row : doc.select("tr[id^=date]")) {
+	    Elements rows = doc.select("tr[id^=date]");
+	    // 日程は試合日順のため、前回最後に保存した試合の行までは確認しない
+	    int resumeRow = -1;
+	    if (checkpoint != null && checkpoint.getLastGame() != null) {
+	        for (int i = 0; i < rows.size(); i++) {
+	            Element linkTag = rows.get(i).selectFirst("a[href]");
+	            if (linkTag != null && checkpoint.getLastGame().equals(toGameLink(linkTag))) {
+	                resumeRow = i;
+	            }
+	        }
+	    }
+
+	    for (Element row : rows.subList(resumeRow + 1, rows.size())) {
 
 	        // 「中止」「ノーゲーム」が入っていたらスキップ
 	        if (row.selectFirst("div.cancel") != null) continue;
@@ -125,20 +459,45 @@ public class NPBWebScraper {
 	        if (linkTag == null) continue;
 
 	        // URL から年月日を抜き出し Date に変換
-	        Matcher m = Pattern.compile("/scores/(\\d{4})/(\\d{4})/").matcher(linkTag.attr("href"));
+	        Matcher m = GAME_LINK_DATE.matcher(linkTag.attr("href"));
 	        if (!m.find()) continue;
 	        String fullDate = m.group(1) + m.group(2);         // yyyyMMdd
 	        Date gameDate = new SimpleDateFormat("yyyyMMdd").parse(fullDate);
 
+	        // 保存済みの試合日より前の試合は確認しない
+	        if (checkpoint != null && checkpoint.getLastDate() != null
+	                && LocalDate.parse(fullDate, DateTimeFormatter.BASIC_ISO_DATE).isBefore(checkpoint.getLastDate())) {
+	            continue;
+	        }
+
 	        Long homeTeamId =  Long.valueOf(convTeam(row.selectFirst("div.team1").text()));
 	        Long awayTeamId =  Long.valueOf(convTeam(row.selectFirst("div.team2").text()));
 
 	        if (baseballGameService.findByGameDateAndTeamId(gameDate, homeTeamId, awayTeamId).isEmpty()) {
-	            gameLinks.add("https://npb.jp" + linkTag.attr("href") + "box.html");
+	            gameLinks.add(toGameLink(linkTag));
 	        }
 	    }
 	    return gameLinks;
 	}
+
+	/**
+	 * 日程の対戦カードのリンクから試合のページ（box.html）のURLを作成
+	 */
+	private static String toGameLink(Element linkTag) {
+		return "https://npb.jp" + linkTag.attr("href") + "box.html";
+	}
+
+	/**
+	 * 試合のリンクから試合日を取得
+	 * @return 試合日（リンクに含まれない場合はnull）
+	 */
+	private static LocalDate gameDateOfLink(String gameLink) {
+		Matcher m = GAME_LINK_DATE.matcher(gameLink);
+		if (!m.find()) {
+			return null;
+		}
+		return LocalDate.parse(m.group(1) + m.group(2), DateTimeFormatter.BASIC_ISO_DATE);
+	}
 	
 	/**
 	 * 当日の試合を除外
@@ -169,13 +528,10 @@ public class NPBWebScraper {
 
 	/**
 	 * 打者と投手の結果を取得
-	 * @param gameUrl
+	 * @param doc 試合のページ（box.html）
 	 * @return
-	 * @throws IOException
 	 */
-	private BatterPitcherInfoList parseGameDetails(String gameUrl)
-			throws IOException {
-		Document doc = Jsoup.connect(gameUrl).get();
+	private BatterPitcherInfoList parseGameDetails(Document doc) {
 		Elements teamNames = doc.select("h4");
 		BatterPitcherInfoList returnList = new BatterPitcherInfoList();
 		// チーム数が2チームない場合
@@ -218,14 +574,11 @@ public class NPBWebScraper {
 
 	/**
 	 * 試合情報を取得
-	 * @param gameUrl
+	 * @param doc 試合のページ（box.html）
 	 * @return
-	 * @throws IOException
 	 * @throws ParseException
 	 */
-	private BaseballGame getGameInfo(String gameUrl)
-			throws IOException, ParseException {
-		Document doc = Jsoup.connect(gameUrl).get();
+	private BaseballGame getGameInfo(Document doc) throws ParseException {
 
 		Element gameTitDiv = doc.selectFirst(".game_tit");
 		Element h3 = gameTitDiv.selectFirst("h3");
@@ -295,9 +648,8 @@ public class NPBWebScraper {
 				PitcherResults pitcherResults = new PitcherResults();
 				String playerUrl = cells.get(1).select("a").attr("href");
 				String fullPlayerUrl = "https://npb.jp" + playerUrl;
-				Long playerId = getPlayerIdByNpbId(fullPlayerUrl);
 				String pitchingResults = cells.get(3).text().trim();
-				pitcherResults.setPitcherId(playerId);
+				pitcherResults.setPlayerUrl(fullPlayerUrl);
 				pitcherResults.setTeam(team);
 				pitcherResults.setMatchNumber(pitchingResults);
 				pitcherResultsList.add(pitcherResults);
@@ -363,11 +715,10 @@ public class NPBWebScraper {
 			if (cells.size() != 0) {
 				String playerUrl = cells.get(2).select("a").attr("href");
 				String fullPlayerUrl = "https://npb.jp" + playerUrl;
-				Long playerId = getPlayerIdByNpbId(fullPlayerUrl);
 				String batterResult = cells.get(i).text().trim();
 				if (!batterResult.equals("-")) {
 					BatterResults batterResults = new BatterResults();
-					batterResults.setBatterId(playerId);
+					batterResults.setPlayerUrl(fullPlayerUrl);
 					batterResults.setTeam(team);
 					batterResults.setResult(batterResult);
 					batterResultsList.add(batterResults);
@@ -420,7 +771,7 @@ public class NPBWebScraper {
 			
 			if (baseballPlayer == null) {
 				// 新規選手として登録
-				Document playerDoc = Jsoup.connect(url).get();
+				Document playerDoc = pageFetcher.fetch(url);
 				Element playerNameElement = playerDoc.selectFirst("#pc_v_name li#pc_v_name");
 				String playerFullName = playerNameElement.text().trim();
 				Elements playerInfo = playerDoc.select("#pc_bio");
@@ -486,11 +837,10 @@ public class NPBWebScraper {
 			if (cells.size() != 0) {
 				String playerUrl = cells.get(2).select("a").attr("href");
 				String fullPlayerUrl = "https://npb.jp" + playerUrl;
-				Long playerId = getPlayerIdByNpbId(fullPlayerUrl);
 				String batterResult = cells.get(i).text().trim();
 				if (!batterResult.equals("-")) {
 					BatterResults batterResults = new BatterResults();
-					batterResults.setBatterId(playerId);
+					batterResults.setPlayerUrl(fullPlayerUrl);
 					batterResults.setTeam(team);
 					batterResults.setResult(batterResult);
 					batterResultsList.add(batterResults);
@@ -505,11 +855,10 @@ public class NPBWebScraper {
 			if (cells.size() != 0) {
 				String playerUrl = cells.get(2).select("a").attr("href");
 				String fullPlayerUrl = "https://npb.jp" + playerUrl;
-				Long playerId = getPlayerIdByNpbId(fullPlayerUrl);
 				String batterResult = cells.get(i).text().trim();
 				if (!batterResult.equals("-")) {
 					BatterResults batterResults = new BatterResults();
-					batterResults.setBatterId(playerId);
+					batterResults.setPlayerUrl(fullPlayerUrl);
 					batterResults.setTeam(team);
 					batterResults.setResult(batterResult);
 					batterResultsList.add(batterResults);
@@ -609,6 +958,7 @@ public class NPBWebScraper {
 				atBatResult.setBatterId(bottomConvBatterResultList.get(j).getBatterId());
 				atBatResult.setPitcherId(pitcherResult.getPitcherId());
 				atBatResult.setResult(bottomConvBatterResultList.get(j).getResult());
+				atBatResult.setResultCd(AtBatOutcome.classify(atBatResult.getResult()).getCode());
 				atBatResultList.add(atBatResult);
 				j++;
 			}
@@ -625,11 +975,14 @@ public class NPBWebScraper {
 				atBatResult.setBatterId(topConvBatterResultList.get(s).getBatterId());
 				atBatResult.setPitcherId(pitcherResult.getPitcherId());
 				atBatResult.setResult(topConvBatterResultList.get(s).getResult());
+				atBatResult.setResultCd(AtBatOutcome.classify(atBatResult.getResult()).getCode());
 				atBatResultList.add(atBatResult);
 				s++;
 			}
 		}
-		atBatResultService.saveAtBatResult(atBatResultList);
+		// 対戦成績集計等の所属チームは、上で登録した選手経歴から求める（ビューと同じ）
+		int season = baseballGame.getGameDate().toInstant().atZone(ZoneId.systemDefault()).getYear();
+		atBatResultService.saveAtBatResult(atBatResultList, season, savedGame);
 	}
 	
 	/**
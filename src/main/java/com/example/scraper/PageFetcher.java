@@ -0,0 +1,93 @@
+package com.example.scraper;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * スクレイパーのページ取得
+ * リクエストはホストごとの上限（HostRateLimiter）に従って送信する。
+ * 1ページごとに取得バイト数・通信時間・解析時間を記録し、累計をログに出力できるようにする。
+ * 同じページを複数の処理で使う場合は、取得した Document を呼び出し元で使い回すこと（このクラスでは保持しない）。
+ */
+@Component
+public class PageFetcher {
+
+	private static final Logger log = LoggerFactory.getLogger(PageFetcher.class);
+
+	@Autowired
+	private HostRateLimiter hostRateLimiter;
+
+	// 累計（起動から、または resetStats() から）
+	private final AtomicLong pages = new AtomicLong();
+	private final AtomicLong bytes = new AtomicLong();
+	private final AtomicLong fetchNanos = new AtomicLong();
+	private final AtomicLong parseNanos = new AtomicLong();
+
+	/**
+	 * ページを取得して解析する
+	 * @param url
+	 * @return 解析済みのページ
+	 * @throws IOException 通信に失敗した場合、またはHTTPステータスがエラーの場合
+	 */
+	public Document fetch(String url) throws IOException {
+		return fetch(Jsoup.connect(url));
+	}
+
+	/**
+	 * ヘッダー等を設定済みの接続でページを取得して解析する
+	 * @param connection
+	 * @return 解析済みのページ
+	 * @throws IOException 通信に失敗した場合、またはHTTPステータスがエラーの場合
+	 */
+	public Document fetch(Connection connection) throws IOException {
+		try {
+			hostRateLimiter.acquire(connection.request().url().getHost());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("リクエストの待機中に中断されました", e);
+		}
+		long start = System.nanoTime();
+		Connection.Response response = connection.execute();
+		// 本文の読み込みまでを通信時間とする
+		byte[] body = response.bodyAsBytes();
+		long fetched = System.nanoTime();
+		Document doc = response.parse();
+		long parsed = System.nanoTime();
+
+		pages.incrementAndGet();
+		bytes.addAndGet(body.length);
+		fetchNanos.addAndGet(fetched - start);
+		parseNanos.addAndGet(parsed - fetched);
+		log.debug("fetch {}: {} bytes, fetch {} ms, parse {} ms", response.url(), body.length,
+				(fetched - start) / 1_000_000, (parsed - fetched) / 1_000_000);
+		return doc;
+	}
+
+	/**
+	 * 累計をログに出力する
+	 * @param label 出力の見出し（スクレイパー名など）
+	 */
+	public void logStats(String label) {
+		long pageCount = pages.get();
+		log.info("{}: {} pages, {} KB, fetch {} ms, parse {} ms", label, pageCount, bytes.get() / 1024,
+				fetchNanos.get() / 1_000_000, parseNanos.get() / 1_000_000);
+	}
+
+	/**
+	 * 累計をリセットする
+	 */
+	public void resetStats() {
+		pages.set(0);
+		bytes.set(0);
+		fetchNanos.set(0);
+		parseNanos.set(0);
+	}
+}
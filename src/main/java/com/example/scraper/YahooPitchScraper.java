@@ -1,6 +1,7 @@
 package com.example.scraper;
 
 import java.io.IOException;
+import java.net.SocketTimeoutException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -8,10 +9,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,10 +33,13 @@ import com.example.baseball.entity.AtBatResult;
 import com.example.baseball.entity.BaseballGame;
 import com.example.baseball.entity.BaseballPlayer;
 import com.example.baseball.entity.PitchResult;
+import com.example.baseball.entity.ScrapeCheckpoint;
 import com.example.baseball.service.AtBatResultService;
 import com.example.baseball.service.BaseballGameService;
 import com.example.baseball.service.BaseballPlayerService;
+import com.example.baseball.service.DataVersionService;
 import com.example.baseball.service.PitchResultService;
+import com.example.baseball.service.ScrapeCheckpointService;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -41,10 +48,10 @@ import lombok.RequiredArgsConstructor;
  * Yahoo! 一球速報スクレイパ（レート制限対応版）
  * 
  * 改善点：
- * 1. リクエスト間隔を大幅に増加
+ * 1. リクエスト間隔を応答に応じて調整（AdaptiveRateController）
  * 2. ランダム待機時間の追加
  * 3. User-Agentローテーション
- * 4. エラー時の長時間待機
+ * 4. 429/403・タイムアウト時はリクエスト間隔を広げる
  * 5. リトライ機能の実装
  */
 @Component
@@ -63,6 +70,8 @@ public class YahooPitchScraper {
     
     // Network settings
     private static final int CONNECTION_TIMEOUT = 15000;
+    // 試合内で保持するページ数
+    private static final int MAX_MEMO_PAGES = 8;
 
     // Regex patterns
     private static final Pattern PLAYER_ID = Pattern.compile("/npb/player/(\\d+)/top");
@@ -79,28 +88,14 @@ public class YahooPitchScraper {
         "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36"
     };
 
-    // Sleep intervals (milliseconds)
-    private static final int MIN_REQUEST_INTERVAL = 5000;
-    private static final int MAX_REQUEST_INTERVAL = 8000;
-    private static final int MIN_GAME_INTERVAL = 15000;
-    private static final int MAX_GAME_INTERVAL = 25000;
-    private static final int MIN_DAY_INTERVAL = 10000;
-    private static final int MAX_DAY_INTERVAL = 15000;
-    private static final int MIN_PLAYER_INTERVAL = 2000;
-    private static final int MAX_PLAYER_INTERVAL = 4000;
-    private static final int ERROR_SLEEP_MIN = 30000;
-    private static final int ERROR_SLEEP_MAX = 60000;
-    private static final int RATE_LIMIT_SLEEP_MIN = 120000;
-    private static final int RATE_LIMIT_SLEEP_MAX = 180000;
-    private static final int EMERGENCY_SLEEP_MIN = 180000;
-    private static final int EMERGENCY_SLEEP_MAX = 300000;
-    
     // Game types
     private static final String LEAGUE_GAMES = "1,2";
     private static final String INTERLEAGUE_GAMES = "26";
     
     private final Random random = new Random();
     private int requestCount = 0;
+    // 進捗を記録するか（取得できなかった日程・未終了の試合より後は、次回取り直すため記録しない）
+    private boolean checkpointing;
     
     // Yahoo!の実際のレイアウトに基づいて調整
     private static final int CHART_WIDTH = 160;     // .bb-allocationChart width
@@ -119,6 +114,11 @@ public class YahooPitchScraper {
     @Autowired private BaseballPlayerService baseballPlayerService;
     @Autowired private BaseballGameService   baseballGameService;
     @Autowired private AtBatResultService    atBatResultService;
+    @Autowired private DataVersionService    dataVersionService;
+    @Autowired private PageFetcher           pageFetcher;
+    @Autowired private ScrapeCheckpointService scrapeCheckpointService;
+    // リクエスト間隔（固定の待機時間の代わりに、応答に応じて調整する）
+    @Autowired private AdaptiveRateController rateController;
 
     /* =================================================
      *  PUBLIC METHODS
@@ -127,6 +127,7 @@ public class YahooPitchScraper {
     /**
      * 指定された期間のNPB試合データをスクレイピングし、投球結果をデータベースに保存する。
      * レート制限やエラーに対応した安全なスクレイピングを実行。
+     * 前回の実行の進捗（SCRAPE_CHECKPOINT）がある場合は、取り込みが完了した試合の次から再開する。
      * 
      * @param from 開始日（含む）
      * @param to   終了日（含む）
@@ -141,31 +142,60 @@ public class YahooPitchScraper {
         }
         log.info("スクレイピング開始: {} から {} まで", from, to);
 
-        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+        // 前回の実行の進捗
+        LocalDate start = from;
+        String lastGameId = null;
+        ScrapeCheckpoint checkpoint = scrapeCheckpointService.find(ScrapeCheckpoint.SCRAPER_YAHOO);
+        if (checkpoint != null && checkpoint.getLastDate() != null && !checkpoint.getLastDate().isBefore(from)) {
+            if (checkpoint.getLastGame() == null) {
+                start = checkpoint.getLastDate().plusDays(1);
+            } else {
+                start = checkpoint.getLastDate();
+                lastGameId = checkpoint.getLastGame();
+            }
+            log.info("前回の進捗から再開: {} (完了した試合={}, 中断した打席index={})",
+                    start, lastGameId, checkpoint.getLastIndex());
+        }
+
+        checkpointing = true;
+        for (LocalDate d = start; !d.isAfter(to); d = d.plusDays(1)) {
+            boolean fetched = false;
             try {
                 log.info("処理中: {}", d);
-                if (!fetchScheduleForKind(d, LEAGUE_GAMES)) { // リーグ戦
-                    fetchScheduleForKind(d, INTERLEAGUE_GAMES);    // 交流戦
-                }
-
-                safeSleep(MIN_DAY_INTERVAL, MAX_DAY_INTERVAL);
-                
+                fetched = fetchScheduleForKind(d, LEAGUE_GAMES, lastGameId)  // リーグ戦
+                        || fetchScheduleForKind(d, INTERLEAGUE_GAMES, lastGameId); // 交流戦
             } catch (Exception e) {
                 log.error("scrapeRange → {} の処理で致命的エラー", d, e);
-                // エラー時は更に長時間待機
-                safeSleep(ERROR_SLEEP_MIN, ERROR_SLEEP_MAX);
+            }
+            // 再開位置の試合は最初の日のみ
+            lastGameId = null;
+            if (!fetched && checkpointing) {
+                log.warn("{}日の日程を取得できなかったため、以降の進捗は記録しません", d);
+                checkpointing = false;
+            }
+            if (checkpointing) {
+                scrapeCheckpointService.saveDate(ScrapeCheckpoint.SCRAPER_YAHOO, d);
             }
         }
         
-        log.info("全スクレイピング処理完了。総リクエスト数: {}", requestCount);
+        // 画面APIのキャッシュ（ETag）を更新する
+        dataVersionService.bump();
+        log.info("全スクレイピング処理完了。総リクエスト数: {}, リクエスト数: {} req/s",
+                requestCount, String.format("%.3f", rateController.getCurrentRate()));
     }
 
     /* =================================================
      *  SCHEDULE PROCESSING
      * ================================================= */
 
-    private boolean fetchScheduleForKind(LocalDate date, String kindIds) {
-        safeSleep(MIN_REQUEST_INTERVAL, MAX_REQUEST_INTERVAL);
+    /**
+     * 試合日の日程から終了した試合を取り込む
+     * @param lastGameId 取り込みが完了している最後の試合（この試合までは取得しない。ない場合はnull）
+     * 試合の取り込みに失敗した場合は次の試合に進み、以降の進捗は記録しない（checkpointing）。
+     * 進捗を記録しなかった試合は次回取り直すが、投球結果は試合ごとに置き換えるため重複しない。
+     * @return 日程を取得できた場合はtrue（試合の取り込みの成否は含まない）
+     */
+    private boolean fetchScheduleForKind(LocalDate date, String kindIds, String lastGameId) {
         String url = String.format(SCHEDULE_URL, DF.format(date), kindIds);
         boolean success = false; 
 
@@ -173,29 +203,60 @@ public class YahooPitchScraper {
             Document doc = connectSafely(url);
             int gameCount = 0;
 
+            List<String> gameIds = new ArrayList<>();
             for (Element a : doc.select("a.bb-score__content[href*=/game/]")) {
-                String gameId = a.attr("href").replaceAll(".*/game/(\\d+)/.*", "$1");
+                gameIds.add(a.attr("href").replaceAll(".*/game/(\\d+)/.*", "$1"));
+            }
+            // 前回の実行で完了した試合までは取得しない（日程にない場合は最初から）
+            int resumeAt = gameIds.indexOf(lastGameId) + 1;
+            if (resumeAt > 0) {
+                log.info("{}日の{}試合目から再開します", date, resumeAt + 1);
+            }
+            // 日程は取得できた（交流戦の日程は取得しない）
+            success = true;
 
-                // 試合終了かどうか
-                String stateTxt = connectSafely(String.format(GAME_TOP_URL, gameId))
-                        .selectFirst("p.bb-gameCard__state")
-                        .text();
-                        
-                if (!stateTxt.contains("試合終了")) continue;
+            for (String gameId : gameIds.subList(resumeAt, gameIds.size())) {
+                boolean completed;
+                try {
+                    // 試合内で取得したページ（試合トップは試合情報の取得でも使う）
+                    Map<String, Document> pages = newPageMemo();
+
+                    // 試合終了かどうか
+                    String stateTxt = fetchPage(String.format(GAME_TOP_URL, gameId), pages)
+                            .selectFirst("p.bb-gameCard__state")
+                            .text();
+
+                    if (!stateTxt.contains("試合終了")) {
+                        log.info("未終了の試合: gameId={}", gameId);
+                        completed = false;
+                    } else {
+                        gameCount++;
+                        completed = scrapeGame(gameId, pages);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("中断されました: date={}, gameId={}", date, gameId);
+                    checkpointing = false;
+                    break;
+                } catch (Exception e) {
+                    log.error("試合の取り込みに失敗: date={}, gameId={}", date, gameId, e);
+                    completed = false;
+                }
 
-                gameCount++;
-                
-                
-                scrapeGame(gameId);
-                
-                safeSleep(MIN_GAME_INTERVAL, MAX_GAME_INTERVAL);
+                if (!completed && checkpointing) {
+                    // 取り込みが完了していない試合は次回取り直すため、以降の進捗は記録しない
+                    log.info("取り込みが完了していない試合があるため、以降の進捗は記録しません: gameId={}", gameId);
+                    checkpointing = false;
+                }
+                if (checkpointing) {
+                    scrapeCheckpointService.saveGame(ScrapeCheckpoint.SCRAPER_YAHOO, date, gameId);
+                }
             }
-            log.info("{}日の試合取り込みが終了しました", date);
-            success = true;
+            log.info("{}日の試合取り込みが終了しました（{}試合）", date, gameCount);
         } catch (HttpStatusException e) {
             if (e.getStatusCode() == 429 || e.getStatusCode() == 403) {
-                log.warn("レート制限検出 - 長時間待機: HTTP {} {}", e.getStatusCode(), url);
-                safeSleep(RATE_LIMIT_SLEEP_MIN, RATE_LIMIT_SLEEP_MAX); // 2-3分待機
+                // リクエスト間隔は connectSafely で広げ済み
+                log.warn("レート制限検出: HTTP {} {}", e.getStatusCode(), url);
             } else {
                 log.warn("schedule fetch: HTTP {} {}", e.getStatusCode(), url);
             }
@@ -211,18 +272,27 @@ public class YahooPitchScraper {
      *  GAME PROCESSING
      * ================================================= */
 
-    private void scrapeGame(String gameId) throws IOException, InterruptedException {
+    /**
+     * 1試合分の一球速報を取り込む
+     * 打席ページは1回ずつ取得し、次の打席のindexも同じページから取得する。
+     * @param pages 試合内で取得したページ（newPageMemo）
+     * 最後の打席まで取り込んだ場合のみ、試合の投球結果を置き換える（途中で終了した場合は保存しない）。
+     * @return 最後の打席まで取り込んだ場合はtrue（打席結果が未登録、途中で異常終了した場合はfalse）
+     */
+    private boolean scrapeGame(String gameId, Map<String, Document> pages) throws IOException, InterruptedException {
 
-        BaseballGame game = resolveGameFromYahoo(gameId);
+        BaseballGame game = resolveGameFromYahoo(gameId, pages);
         List<AtBatResult> atBats =
             new ArrayList<>(atBatResultService.findByGameId(game.getGameId()));
 
         if (atBats.isEmpty()) {
             log.warn("AT_BAT_RESULT 空: gameId={}", game.getGameId());
-            return;
+            return false;
         }
 
-        String index = fetchStartIndex(gameId);   // 基本は「0110100」始まり
+        String index = fetchStartIndex(gameId, pages);   // 基本は「0110100」始まり
+        // 取得済みの打席（indexが循環した場合に同じページを取得し続けないため）
+        Set<String> visitedIndexes = new HashSet<>();
         
         List<PitchResult> prList = new ArrayList<>();
         AtBatResult currentAB = null;
@@ -230,12 +300,18 @@ public class YahooPitchScraper {
         
         // チーム別の最後のバッター情報を管理
         Map<String, AtBatResult> lastBatterByTeam = new HashMap<>();
+        boolean completed = index != null;
         
         while (index != null && !atBats.isEmpty()) {
+            if (!visitedIndexes.add(index)) {
+                log.warn("取得済みの打席のため終了します: gameId={}, index={}", gameId, index);
+                completed = false;
+                break;
+            }
 
             try {
                 /* ---- 打席ページ取得 ---- */
-                Document doc = connectSafely(String.format(SCORE_URL, gameId, index));
+                Document doc = fetchPage(String.format(SCORE_URL, gameId, index), pages);
 
                 long pitId = extractPlayerId(doc, true);
                 long batId = extractPlayerId(doc, false);
@@ -319,8 +395,7 @@ public class YahooPitchScraper {
                         }
                     }
                     // 次の打席に進む（代打交代等は正常な状況のため継続処理）
-                    Document tmp = connectSafely(String.format(SCORE_URL, gameId, index));
-                    index = getNextIndex(tmp);
+                    index = getNextIndex(doc);
                     continue;
                 }
 
@@ -328,16 +403,25 @@ public class YahooPitchScraper {
                 Element section = doc.select("section.bb-splits__item").get(1);
                 prList.addAll(parsePitchRow(section, currentAB.getAtBatId()));
 
+                index = getNextIndex(doc);
             } catch (Exception ex) {
                 log.error("scrapeGame error: gameId={}, index={}, pitchCount={}", gameId, index, pitchCount, ex);
-                safeSleep(ERROR_SLEEP_MIN, ERROR_SLEEP_MAX);
+                completed = false;
+                // 中断した打席を記録する（調査用。再開時は試合の最初から取り直す）
+                if (checkpointing) {
+                    scrapeCheckpointService.saveIndex(ScrapeCheckpoint.SCRAPER_YAHOO, index);
+                }
                 break;              // 異常終了
             }
-            Document tmp = connectSafely(String.format(SCORE_URL, gameId, index));
-            index = getNextIndex(tmp);
         }
         
-        if (!prList.isEmpty()) pitchResultService.saveAll(prList);
+        if (completed) {
+            // 取り直した試合でも重複しないよう、保存済みの投球結果を置き換える
+            pitchResultService.replaceGamePitches(game.getGameId(), prList);
+        } else if (!prList.isEmpty()) {
+            // 途中までの投球結果は保存しない（次回、試合の最初から取り直す）
+            log.warn("取り込みが完了していないため投球結果を保存しません: gameId={}, 投球={} 件", gameId, prList.size());
+        }
 
         if (!atBats.isEmpty()) {
             log.info("gameId={} : 未処理 atBat={} 件", gameId, atBats.size());
@@ -356,13 +440,24 @@ public class YahooPitchScraper {
                 }
             });
         }
+        return completed;
     }
 
     /* =================================================
      *  NETWORK UTILITIES
      * ================================================= */
 
+    /**
+     * ページを取得する。送信前に AdaptiveRateController の間隔だけ待ち、
+     * 応答に応じてリクエスト間隔を調整する（429/403・タイムアウトで広げ、正常な応答で縮める）。
+     */
     private Document connectSafely(String url) throws IOException {
+        try {
+            rateController.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("待機中断", e);
+        }
         requestCount++;
         
         String userAgent = USER_AGENTS[random.nextInt(USER_AGENTS.length)];
@@ -370,36 +465,48 @@ public class YahooPitchScraper {
         log.debug("Request #{}: {}", requestCount, url);
         
         try {
-            return Jsoup.connect(url)
+            Document doc = pageFetcher.fetch(Jsoup.connect(url)
                     .userAgent(userAgent)
                     .referrer("https://baseball.yahoo.co.jp/")
-                    .timeout(CONNECTION_TIMEOUT)
-                    .get();
+                    .timeout(CONNECTION_TIMEOUT));
+            rateController.onSuccess();
+            return doc;
         } catch (HttpStatusException e) {
-            if (e.getStatusCode() == 429) {
-                log.warn("レート制限検出 - 緊急待機");
-                safeSleep(EMERGENCY_SLEEP_MIN, EMERGENCY_SLEEP_MAX); // 3-5分待機
-                throw e;
+            if (e.getStatusCode() == 429 || e.getStatusCode() == 403) {
+                rateController.onThrottled("HTTP " + e.getStatusCode());
             }
             throw e;
+        } catch (SocketTimeoutException e) {
+            rateController.onThrottled("timeout");
+            throw e;
         }
     }
 
     /**
-     * レート制限回避のためのランダム待機
-     * @param minMs 最小待機時間(ミリ秒)
-     * @param maxMs 最大待機時間(ミリ秒)
-     * @throws RuntimeException 待機中に中断された場合
+     * 試合内で取得したページを保持する（URL → Document）
+     * 打席ページは1回ずつしか参照しないため、直近の MAX_MEMO_PAGES 件のみ保持する。
      */
-    private void safeSleep(int minMs, int maxMs) {
-        try {
-            int sleepTime = minMs + random.nextInt(maxMs - minMs + 1);
-            log.debug("待機中: {}ms", sleepTime);
-            Thread.sleep(sleepTime);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("待機中断", e);
+    private static Map<String, Document> newPageMemo() {
+        return new LinkedHashMap<String, Document>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Document> eldest) {
+                return size() > MAX_MEMO_PAGES;
+            }
+        };
+    }
+
+    /**
+     * 取得済みのページがあれば再利用し、なければ取得する
+     */
+    private Document fetchPage(String url, Map<String, Document> pages) throws IOException {
+        Document doc = pages.get(url);
+        if (doc == null) {
+            doc = connectSafely(url);
+            pages.put(url, doc);
+        } else {
+            log.debug("取得済みのページを再利用: {}", url);
         }
+        return doc;
     }
 
     private AtBatResult findAndPopAtBat(List<AtBatResult> list, Long batterId, Long pitcherId) {
@@ -564,11 +671,11 @@ public class YahooPitchScraper {
         return row * GRID_COLS + col + 1;
     }
     
-    private BaseballGame resolveGameFromYahoo(String gameId) throws IOException {
+    private BaseballGame resolveGameFromYahoo(String gameId, Map<String, Document> pages) throws IOException {
 
         String url = String.format(GAME_TOP_URL, gameId);
 
-        Document doc = connectSafely(url);
+        Document doc = fetchPage(url, pages);
         
         /* ---------- 1) 試合日 ---------- */
         String title = doc.title();
@@ -610,9 +717,9 @@ public class YahooPitchScraper {
         return list.get(0);
     }
 
-    private String fetchStartIndex(String gameId) throws IOException {
+    private String fetchStartIndex(String gameId, Map<String, Document> pages) throws IOException {
         String url = YAHOO_BASE_URL + "/npb/game/" + gameId + "/score";
-        Document doc = connectSafely(url);
+        Document doc = fetchPage(url, pages);
         Element a = doc.selectFirst("a#inn_score[index]");
         return a != null ? a.attr("index") : null;
     }
@@ -692,9 +799,6 @@ public class YahooPitchScraper {
         BaseballPlayer bp = baseballPlayerService.findByYahooId(yahooId);
         if (bp != null) return bp;
 
-        // 選手情報取得前に待機
-        safeSleep(MIN_PLAYER_INTERVAL, MAX_PLAYER_INTERVAL);
-        
         PlayerProfile prof = fetchPlayerProfileFromYahoo(yahooId);
 
         // まず身長・体重を含めた精密検索を試行
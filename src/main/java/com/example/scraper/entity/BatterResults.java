@@ -6,5 +6,7 @@ import lombok.Data;
 public class BatterResults {
 	private String team;
 	private Long batterId;
+	// NPBの選手ページURL（選手IDは保存時に解決する）
+	private String playerUrl;
 	private String result;
 }
@@ -6,5 +6,7 @@ import lombok.Data;
 public class PitcherResults {
 private String team;
 private Long pitcherId;
+// NPBの選手ページURL（選手IDは保存時に解決する）
+private String playerUrl;
 private String matchNumber;
 }
@@ -0,0 +1,38 @@
+-- =====================================================================
+-- AT_BAT_RESULT に打席結果の分類コード(RESULT_CD)を追加する
+-- コード値は com.example.baseball.util.AtBatOutcome と対応
+--   0:凡退 1:単打 2:二塁打 3:三塁打 4:本塁打 5:四球 6:死球 7:犠打 8:犠飛 9:三振
+-- =====================================================================
+
+ALTER TABLE AT_BAT_RESULT ADD COLUMN RESULT_CD TINYINT NULL AFTER RESULT;
+
+-- 既存データの分類（AtBatOutcome.classify と同じ判定順）
+UPDATE AT_BAT_RESULT
+SET RESULT_CD = CASE
+        WHEN RESULT LIKE '%本%' THEN 4
+        WHEN RESULT LIKE '%３%' THEN 3
+        WHEN RESULT LIKE '%２%' THEN 2
+        WHEN RESULT LIKE '%安%' THEN 1
+        WHEN RESULT LIKE '%四%' THEN 5
+        WHEN RESULT = '死　球' THEN 6
+        WHEN RESULT LIKE '%犠打%' THEN 7
+        WHEN RESULT LIKE '%犠飛%' THEN 8
+        WHEN RESULT = '三　振' THEN 9
+        ELSE 0
+    END
+WHERE RESULT_CD IS NULL;
+
+-- ビューに RESULT_CD を追加する
+-- ビューの定義はリポジトリで管理していないため、このスクリプトでは再作成しない
+-- （推測した定義で置き換えると、既存の列・結合条件・DEFINER 等が変わってしまう）。
+-- 適用する環境で以下の手順により、現在の定義に RESULT_CD の列のみを追加すること。
+--   1. SHOW CREATE VIEW V_AT_BAT_GAME_DETAILS; で現在の定義を取得する
+--   2. 取得した定義の CREATE を CREATE OR REPLACE に変え、SELECT 句の末尾に AT_BAT_RESULT.RESULT_CD を
+--      RESULT_CD という列名で追加する（例: , `abr`.`RESULT_CD` AS `RESULT_CD`。表の別名は取得した定義に合わせる）
+--   3. その他の列・結合条件・ALGORITHM / DEFINER / SQL SECURITY は変更せずに実行する
+-- 追加後の確認（1行返ること）
+SELECT COLUMN_NAME
+FROM information_schema.COLUMNS
+WHERE TABLE_SCHEMA = DATABASE()
+  AND TABLE_NAME = 'V_AT_BAT_GAME_DETAILS'
+  AND COLUMN_NAME = 'RESULT_CD';
@@ -0,0 +1,50 @@
+-- =====================================================================
+-- 投手VS打者の対戦成績集計テーブル
+-- 投手・打者・年度・所属チームごとに打席結果の分類別件数を保持する。
+-- 打席結果の取り込み時（NPBWebScraper）に同一トランザクションで加算される。
+-- =====================================================================
+
+CREATE TABLE MATCHUP_AGGREGATE (
+    PITCHER_ID        BIGINT   NOT NULL,
+    BATTER_ID         BIGINT   NOT NULL,
+    SEASON            SMALLINT NOT NULL,
+    PITCHER_TEAM_ID   BIGINT   NOT NULL,
+    BATTER_TEAM_ID    BIGINT   NOT NULL,
+    SINGLES_NUMBER    INT      NOT NULL DEFAULT 0,
+    DOUBLES_NUMBER    INT      NOT NULL DEFAULT 0,
+    TRIPLES_NUMBER    INT      NOT NULL DEFAULT 0,
+    HOME_RUN          INT      NOT NULL DEFAULT 0,
+    FOUR_BALL_NUMBER  INT      NOT NULL DEFAULT 0,
+    HIT_BALL_NUMBER   INT      NOT NULL DEFAULT 0,
+    SACRIFICE_HIT     INT      NOT NULL DEFAULT 0,
+    SACRIFICE_FLY     INT      NOT NULL DEFAULT 0,
+    STRIKEOUTS_NUMBER INT      NOT NULL DEFAULT 0,
+    OUT_NUMBER        INT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (PITCHER_ID, BATTER_ID, SEASON, PITCHER_TEAM_ID, BATTER_TEAM_ID),
+    KEY IDX_MATCHUP_AGGREGATE_BATTER (BATTER_ID, PITCHER_ID, SEASON)
+);
+
+-- 既存の打席結果から初期データを作成（001_at_bat_result_cd.sql 適用後に実行）
+INSERT INTO MATCHUP_AGGREGATE (
+    PITCHER_ID, BATTER_ID, SEASON, PITCHER_TEAM_ID, BATTER_TEAM_ID,
+    SINGLES_NUMBER, DOUBLES_NUMBER, TRIPLES_NUMBER, HOME_RUN,
+    FOUR_BALL_NUMBER, HIT_BALL_NUMBER, SACRIFICE_HIT, SACRIFICE_FLY,
+    STRIKEOUTS_NUMBER, OUT_NUMBER)
+SELECT
+    vag.PITCHER_ID,
+    vag.BATTER_ID,
+    YEAR(vag.GAME_DATE),
+    vag.PITCHER_TEAM_ID,
+    vag.BATTER_TEAM_ID,
+    COALESCE(SUM(vag.RESULT_CD = 1), 0),
+    COALESCE(SUM(vag.RESULT_CD = 2), 0),
+    COALESCE(SUM(vag.RESULT_CD = 3), 0),
+    COALESCE(SUM(vag.RESULT_CD = 4), 0),
+    COALESCE(SUM(vag.RESULT_CD = 5), 0),
+    COALESCE(SUM(vag.RESULT_CD = 6), 0),
+    COALESCE(SUM(vag.RESULT_CD = 7), 0),
+    COALESCE(SUM(vag.RESULT_CD = 8), 0),
+    COALESCE(SUM(vag.RESULT_CD = 9), 0),
+    COALESCE(SUM(vag.RESULT_CD = 0), 0)
+FROM V_AT_BAT_GAME_DETAILS vag
+GROUP BY vag.PITCHER_ID, vag.BATTER_ID, YEAR(vag.GAME_DATE), vag.PITCHER_TEAM_ID, vag.BATTER_TEAM_ID;
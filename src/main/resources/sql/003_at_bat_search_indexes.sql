@@ -0,0 +1,9 @@
+-- =====================================================================
+-- 対戦成績検索（V_AT_BAT_GAME_DETAILS）用のインデックス
+-- 投手指定・打者指定の検索は AT_BAT_RESULT の複合インデックス、
+-- 年度指定は BASEBALL_GAME.GAME_DATE の範囲検索で絞り込む。
+-- =====================================================================
+
+CREATE INDEX IDX_AT_BAT_RESULT_PITCHER_BATTER ON AT_BAT_RESULT (PITCHER_ID, BATTER_ID);
+CREATE INDEX IDX_AT_BAT_RESULT_BATTER_PITCHER ON AT_BAT_RESULT (BATTER_ID, PITCHER_ID);
+CREATE INDEX IDX_BASEBALL_GAME_GAME_DATE ON BASEBALL_GAME (GAME_DATE);
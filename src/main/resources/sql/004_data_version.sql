@@ -0,0 +1,14 @@
+-- =====================================================================
+-- データ更新バージョン
+-- スクレイパー（NPBWebScraper.scrapeData / YahooPitchScraper.scrapeRange）の
+-- 完了時に VERSION_NO を加算する。画面APIはこの値から ETag を作成する。
+-- =====================================================================
+
+CREATE TABLE DATA_VERSION (
+    DATA_VERSION_ID INT      NOT NULL,
+    VERSION_NO      BIGINT   NOT NULL DEFAULT 0,
+    UPDATED_AT      DATETIME NULL,
+    PRIMARY KEY (DATA_VERSION_ID)
+);
+
+INSERT INTO DATA_VERSION (DATA_VERSION_ID, VERSION_NO, UPDATED_AT) VALUES (1, 1, NOW());
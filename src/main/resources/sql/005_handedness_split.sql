@@ -0,0 +1,56 @@
+-- =====================================================================
+-- 左右別成績の集計テーブル
+-- 選手・年度・立場（B: 打者として / P: 投手として）・相手の投打ごとに打席結果の分類別件数を保持する。
+-- 相手の投打は BASEBALL_PLAYER の THROWER（投手）/ HANDED（打者）のコード値
+-- （0: 右、1: 左、2: 両、9: 不明）。
+-- 打席結果の取り込み時（AtBatResultService.saveAtBatResult）に同一トランザクションで加算される。
+-- =====================================================================
+
+CREATE TABLE HANDEDNESS_SPLIT (
+    PLAYER_ID         BIGINT   NOT NULL,
+    SEASON            SMALLINT NOT NULL,
+    ROLE              CHAR(1)  NOT NULL,
+    OPPONENT_HAND     CHAR(1)  NOT NULL,
+    SINGLES_NUMBER    INT      NOT NULL DEFAULT 0,
+    DOUBLES_NUMBER    INT      NOT NULL DEFAULT 0,
+    TRIPLES_NUMBER    INT      NOT NULL DEFAULT 0,
+    HOME_RUN          INT      NOT NULL DEFAULT 0,
+    FOUR_BALL_NUMBER  INT      NOT NULL DEFAULT 0,
+    HIT_BALL_NUMBER   INT      NOT NULL DEFAULT 0,
+    SACRIFICE_HIT     INT      NOT NULL DEFAULT 0,
+    SACRIFICE_FLY     INT      NOT NULL DEFAULT 0,
+    STRIKEOUTS_NUMBER INT      NOT NULL DEFAULT 0,
+    OUT_NUMBER        INT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (PLAYER_ID, SEASON, ROLE, OPPONENT_HAND)
+);
+
+-- 既存の対戦成績集計から初期データを作成（002_matchup_aggregate.sql 適用後に実行）
+-- 打者として: 相手投手の投げ手ごと
+INSERT INTO HANDEDNESS_SPLIT (
+    PLAYER_ID, SEASON, ROLE, OPPONENT_HAND,
+    SINGLES_NUMBER, DOUBLES_NUMBER, TRIPLES_NUMBER, HOME_RUN,
+    FOUR_BALL_NUMBER, HIT_BALL_NUMBER, SACRIFICE_HIT, SACRIFICE_FLY,
+    STRIKEOUTS_NUMBER, OUT_NUMBER)
+SELECT
+    ma.BATTER_ID, ma.SEASON, 'B', COALESCE(pit.THROWER, '9'),
+    SUM(ma.SINGLES_NUMBER), SUM(ma.DOUBLES_NUMBER), SUM(ma.TRIPLES_NUMBER), SUM(ma.HOME_RUN),
+    SUM(ma.FOUR_BALL_NUMBER), SUM(ma.HIT_BALL_NUMBER), SUM(ma.SACRIFICE_HIT), SUM(ma.SACRIFICE_FLY),
+    SUM(ma.STRIKEOUTS_NUMBER), SUM(ma.OUT_NUMBER)
+FROM MATCHUP_AGGREGATE ma
+JOIN BASEBALL_PLAYER pit ON pit.PLAYER_ID = ma.PITCHER_ID
+GROUP BY ma.BATTER_ID, ma.SEASON, COALESCE(pit.THROWER, '9');
+
+-- 投手として: 相手打者の打ち手ごと
+INSERT INTO HANDEDNESS_SPLIT (
+    PLAYER_ID, SEASON, ROLE, OPPONENT_HAND,
+    SINGLES_NUMBER, DOUBLES_NUMBER, TRIPLES_NUMBER, HOME_RUN,
+    FOUR_BALL_NUMBER, HIT_BALL_NUMBER, SACRIFICE_HIT, SACRIFICE_FLY,
+    STRIKEOUTS_NUMBER, OUT_NUMBER)
+SELECT
+    ma.PITCHER_ID, ma.SEASON, 'P', COALESCE(bat.HANDED, '9'),
+    SUM(ma.SINGLES_NUMBER), SUM(ma.DOUBLES_NUMBER), SUM(ma.TRIPLES_NUMBER), SUM(ma.HOME_RUN),
+    SUM(ma.FOUR_BALL_NUMBER), SUM(ma.HIT_BALL_NUMBER), SUM(ma.SACRIFICE_HIT), SUM(ma.SACRIFICE_FLY),
+    SUM(ma.STRIKEOUTS_NUMBER), SUM(ma.OUT_NUMBER)
+FROM MATCHUP_AGGREGATE ma
+JOIN BASEBALL_PLAYER bat ON bat.PLAYER_ID = ma.BATTER_ID
+GROUP BY ma.PITCHER_ID, ma.SEASON, COALESCE(bat.HANDED, '9');
@@ -0,0 +1,130 @@
+-- =====================================================================
+-- 本拠地/ビジター別・球場別成績の集計テーブル
+-- 選手・年度・立場（B: 打者として / P: 投手として）・分類ごとに打席結果の分類別件数を保持する。
+--   SPLIT_TYPE = 'H': 本拠地/ビジター別（SPLIT_CD は H: 本拠地、A: ビジター）
+--   SPLIT_TYPE = 'S': 球場別（SPLIT_CD は BASEBALL_GAME.STADIUM）
+-- 打席結果の取り込み時（AtBatResultService.saveAtBatResult）に同一トランザクションで加算される。
+-- =====================================================================
+
+CREATE TABLE VENUE_SPLIT (
+    PLAYER_ID         BIGINT      NOT NULL,
+    SEASON            SMALLINT    NOT NULL,
+    ROLE              CHAR(1)     NOT NULL,
+    SPLIT_TYPE        CHAR(1)     NOT NULL,
+    SPLIT_CD          VARCHAR(50) NOT NULL,
+    SINGLES_NUMBER    INT         NOT NULL DEFAULT 0,
+    DOUBLES_NUMBER    INT         NOT NULL DEFAULT 0,
+    TRIPLES_NUMBER    INT         NOT NULL DEFAULT 0,
+    HOME_RUN          INT         NOT NULL DEFAULT 0,
+    FOUR_BALL_NUMBER  INT         NOT NULL DEFAULT 0,
+    HIT_BALL_NUMBER   INT         NOT NULL DEFAULT 0,
+    SACRIFICE_HIT     INT         NOT NULL DEFAULT 0,
+    SACRIFICE_FLY     INT         NOT NULL DEFAULT 0,
+    STRIKEOUTS_NUMBER INT         NOT NULL DEFAULT 0,
+    OUT_NUMBER        INT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (PLAYER_ID, SEASON, ROLE, SPLIT_TYPE, SPLIT_CD)
+);
+
+-- 既存の打席結果から初期データを作成（001_at_bat_result_cd.sql 適用後に実行）
+-- 所属チームは取り込み時と同じく試合日時点の BASEBALL_PLAYER_HISTORY（ビューの BATTER_TEAM_ID / PITCHER_TEAM_ID）を使用する。
+-- 打者として: 本拠地/ビジター別
+INSERT INTO VENUE_SPLIT (
+    PLAYER_ID, SEASON, ROLE, SPLIT_TYPE, SPLIT_CD,
+    SINGLES_NUMBER, DOUBLES_NUMBER, TRIPLES_NUMBER, HOME_RUN,
+    FOUR_BALL_NUMBER, HIT_BALL_NUMBER, SACRIFICE_HIT, SACRIFICE_FLY,
+    STRIKEOUTS_NUMBER, OUT_NUMBER)
+SELECT
+    vag.BATTER_ID,
+    YEAR(vag.GAME_DATE),
+    'B',
+    'H',
+    CASE WHEN vag.BATTER_TEAM_ID = vag.HOME_TEAM_ID THEN 'H' ELSE 'A' END,
+    COALESCE(SUM(vag.RESULT_CD = 1), 0),
+    COALESCE(SUM(vag.RESULT_CD = 2), 0),
+    COALESCE(SUM(vag.RESULT_CD = 3), 0),
+    COALESCE(SUM(vag.RESULT_CD = 4), 0),
+    COALESCE(SUM(vag.RESULT_CD = 5), 0),
+    COALESCE(SUM(vag.RESULT_CD = 6), 0),
+    COALESCE(SUM(vag.RESULT_CD = 7), 0),
+    COALESCE(SUM(vag.RESULT_CD = 8), 0),
+    COALESCE(SUM(vag.RESULT_CD = 9), 0),
+    COALESCE(SUM(vag.RESULT_CD = 0), 0)
+FROM V_AT_BAT_GAME_DETAILS vag
+GROUP BY vag.BATTER_ID, YEAR(vag.GAME_DATE), CASE WHEN vag.BATTER_TEAM_ID = vag.HOME_TEAM_ID THEN 'H' ELSE 'A' END;
+
+-- 打者として: 球場別
+INSERT INTO VENUE_SPLIT (
+    PLAYER_ID, SEASON, ROLE, SPLIT_TYPE, SPLIT_CD,
+    SINGLES_NUMBER, DOUBLES_NUMBER, TRIPLES_NUMBER, HOME_RUN,
+    FOUR_BALL_NUMBER, HIT_BALL_NUMBER, SACRIFICE_HIT, SACRIFICE_FLY,
+    STRIKEOUTS_NUMBER, OUT_NUMBER)
+SELECT
+    vag.BATTER_ID,
+    YEAR(vag.GAME_DATE),
+    'B',
+    'S',
+    vag.STADIUM,
+    COALESCE(SUM(vag.RESULT_CD = 1), 0),
+    COALESCE(SUM(vag.RESULT_CD = 2), 0),
+    COALESCE(SUM(vag.RESULT_CD = 3), 0),
+    COALESCE(SUM(vag.RESULT_CD = 4), 0),
+    COALESCE(SUM(vag.RESULT_CD = 5), 0),
+    COALESCE(SUM(vag.RESULT_CD = 6), 0),
+    COALESCE(SUM(vag.RESULT_CD = 7), 0),
+    COALESCE(SUM(vag.RESULT_CD = 8), 0),
+    COALESCE(SUM(vag.RESULT_CD = 9), 0),
+    COALESCE(SUM(vag.RESULT_CD = 0), 0)
+FROM V_AT_BAT_GAME_DETAILS vag
+WHERE vag.STADIUM IS NOT NULL AND vag.STADIUM <> ''
+GROUP BY vag.BATTER_ID, YEAR(vag.GAME_DATE), vag.STADIUM;
+
+-- 投手として: 本拠地/ビジター別
+INSERT INTO VENUE_SPLIT (
+    PLAYER_ID, SEASON, ROLE, SPLIT_TYPE, SPLIT_CD,
+    SINGLES_NUMBER, DOUBLES_NUMBER, TRIPLES_NUMBER, HOME_RUN,
+    FOUR_BALL_NUMBER, HIT_BALL_NUMBER, SACRIFICE_HIT, SACRIFICE_FLY,
+    STRIKEOUTS_NUMBER, OUT_NUMBER)
+SELECT
+    vag.PITCHER_ID,
+    YEAR(vag.GAME_DATE),
+    'P',
+    'H',
+    CASE WHEN vag.PITCHER_TEAM_ID = vag.HOME_TEAM_ID THEN 'H' ELSE 'A' END,
+    COALESCE(SUM(vag.RESULT_CD = 1), 0),
+    COALESCE(SUM(vag.RESULT_CD = 2), 0),
+    COALESCE(SUM(vag.RESULT_CD = 3), 0),
+    COALESCE(SUM(vag.RESULT_CD = 4), 0),
+    COALESCE(SUM(vag.RESULT_CD = 5), 0),
+    COALESCE(SUM(vag.RESULT_CD = 6), 0),
+    COALESCE(SUM(vag.RESULT_CD = 7), 0),
+    COALESCE(SUM(vag.RESULT_CD = 8), 0),
+    COALESCE(SUM(vag.RESULT_CD = 9), 0),
+    COALESCE(SUM(vag.RESULT_CD = 0), 0)
+FROM V_AT_BAT_GAME_DETAILS vag
+GROUP BY vag.PITCHER_ID, YEAR(vag.GAME_DATE), CASE WHEN vag.PITCHER_TEAM_ID = vag.HOME_TEAM_ID THEN 'H' ELSE 'A' END;
+
+-- 投手として: 球場別
+INSERT INTO VENUE_SPLIT (
+    PLAYER_ID, SEASON, ROLE, SPLIT_TYPE, SPLIT_CD,
+    SINGLES_NUMBER, DOUBLES_NUMBER, TRIPLES_NUMBER, HOME_RUN,
+    FOUR_BALL_NUMBER, HIT_BALL_NUMBER, SACRIFICE_HIT, SACRIFICE_FLY,
+    STRIKEOUTS_NUMBER, OUT_NUMBER)
+SELECT
+    vag.PITCHER_ID,
+    YEAR(vag.GAME_DATE),
+    'P',
+    'S',
+    vag.STADIUM,
+    COALESCE(SUM(vag.RESULT_CD = 1), 0),
+    COALESCE(SUM(vag.RESULT_CD = 2), 0),
+    COALESCE(SUM(vag.RESULT_CD = 3), 0),
+    COALESCE(SUM(vag.RESULT_CD = 4), 0),
+    COALESCE(SUM(vag.RESULT_CD = 5), 0),
+    COALESCE(SUM(vag.RESULT_CD = 6), 0),
+    COALESCE(SUM(vag.RESULT_CD = 7), 0),
+    COALESCE(SUM(vag.RESULT_CD = 8), 0),
+    COALESCE(SUM(vag.RESULT_CD = 9), 0),
+    COALESCE(SUM(vag.RESULT_CD = 0), 0)
+FROM V_AT_BAT_GAME_DETAILS vag
+WHERE vag.STADIUM IS NOT NULL AND vag.STADIUM <> ''
+GROUP BY vag.PITCHER_ID, YEAR(vag.GAME_DATE), vag.STADIUM;
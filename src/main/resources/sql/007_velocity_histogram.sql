@@ -0,0 +1,30 @@
+-- =====================================================================
+-- 球速分布の集計テーブル
+-- 投手・年度・球種・球速（1km/h 刻み）ごとの投球数を保持する。
+-- 球速が取得できなかった投球（SPEED = 0）は含めない。
+-- 投球結果の取り込み時（PitchResultService.saveAll / replaceGamePitches）に同一トランザクションで加算される。
+-- 試合を取り直す場合は、保存済みの投球結果を減算してから加算し直す（投球数が0の行は残る）。
+-- =====================================================================
+
+CREATE TABLE VELOCITY_HISTOGRAM (
+    PITCHER_ID  BIGINT      NOT NULL,
+    SEASON      SMALLINT    NOT NULL,
+    PITCH_TYPE  VARCHAR(50) NOT NULL,
+    SPEED       SMALLINT    NOT NULL,
+    PITCH_COUNT INT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (PITCHER_ID, SEASON, PITCH_TYPE, SPEED)
+);
+
+-- 既存の投球結果から初期データを作成
+INSERT INTO VELOCITY_HISTOGRAM (PITCHER_ID, SEASON, PITCH_TYPE, SPEED, PITCH_COUNT)
+SELECT
+    abr.PITCHER_ID,
+    YEAR(bg.GAME_DATE),
+    pr.PITCH_TYPE,
+    pr.SPEED,
+    COUNT(*)
+FROM PITCH_RESULT pr
+JOIN AT_BAT_RESULT abr ON abr.AT_BAT_ID = pr.AT_BAT_ID
+JOIN BASEBALL_GAME bg ON bg.GAME_ID = abr.GAME_ID
+WHERE pr.SPEED > 0
+GROUP BY abr.PITCHER_ID, YEAR(bg.GAME_DATE), pr.PITCH_TYPE, pr.SPEED;
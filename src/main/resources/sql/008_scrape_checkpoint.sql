@@ -0,0 +1,19 @@
+-- =====================================================================
+-- スクレイパーの進捗
+-- スクレイパーごとに、取り込みが完了した最後の試合日・試合と、取り込み中の試合の打席indexを保持する。
+--   NPB   : LAST_DATE = 最後に保存した試合の試合日、LAST_GAME = その試合のリンク（box.html）
+--   YAHOO : LAST_DATE = 処理中（LAST_GAME が NULL の場合は完了）の試合日、
+--           LAST_GAME = その日に完了した最後の試合（Yahoo!の試合ID）、
+--           LAST_INDEX = LAST_GAME の次の試合で取り込みを中断した打席のindex（調査用。再開時は試合の最初から取り直す）
+-- 次回の実行はここから再開する（LAST_DATE より前の日付、同じ日の LAST_GAME までの試合は取得しない）。
+-- 取り込み済みの期間を取り直す場合は該当する行を削除する。
+-- =====================================================================
+
+CREATE TABLE SCRAPE_CHECKPOINT (
+    SCRAPER_NM VARCHAR(20)  NOT NULL,
+    LAST_DATE  DATE         NULL,
+    LAST_GAME  VARCHAR(200) NULL,
+    LAST_INDEX VARCHAR(20)  NULL,
+    UPDATED_AT DATETIME     NULL,
+    PRIMARY KEY (SCRAPER_NM)
+);
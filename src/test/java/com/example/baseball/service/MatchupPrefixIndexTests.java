@@ -0,0 +1,113 @@
+package com.example.baseball.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.baseball.entity.StatLine;
+import com.example.baseball.util.AtBatOutcome;
+
+/**
+ * 組み合わせごとの累積件数から期間内の打席結果の件数が求められることを確認する
+ */
+class MatchupPrefixIndexTests {
+
+	// 選手コード 0, 1: 投手、2, 3: 打者
+	private static final int PLAYERS = 4;
+
+	/**
+	 * 行番号順（試合日順ではない）に打席を並べた索引
+	 *   投手0 vs 打者2: 4/1 単打, 4/10 三振, 4/5 本塁打, 4/10 四球（4/10 のみチーム変更）
+	 *   投手1 vs 打者2: 4/3 凡退
+	 *   投手0 vs 打者3: 4/7 二塁打
+	 */
+	private static MatchupPrefixIndex index() {
+		int[] pitcher = { 0, 0, 1, 0, 0, 0 };
+		int[] batter = { 2, 2, 2, 2, 3, 2 };
+		int[] pitcherTeam = { 1, 1, 2, 1, 1, 1 };
+		int[] batterTeam = { 5, 5, 5, 5, 5, 6 };
+		int[] gameDate = { 20240401, 20240410, 20240403, 20240405, 20240407, 20240410 };
+		byte[] outcome = { code(AtBatOutcome.SINGLE), code(AtBatOutcome.STRIKEOUT), code(AtBatOutcome.OUT),
+				code(AtBatOutcome.HOME_RUN), code(AtBatOutcome.DOUBLE), code(AtBatOutcome.FOUR_BALL) };
+		return new MatchupPrefixIndex(pitcher.length, PLAYERS, pitcher, batter, pitcherTeam, batterTeam, gameDate,
+				outcome);
+	}
+
+	private static byte code(AtBatOutcome outcome) {
+		return (byte) outcome.getCode();
+	}
+
+	@Test
+	void pairsArePostedByPlayer() {
+		MatchupPrefixIndex index = index();
+		int pair02 = index.pair(0, 2);
+		int pair12 = index.pair(1, 2);
+		int pair03 = index.pair(0, 3);
+
+		assertEquals(-1, index.pair(1, 3));
+		assertArrayEquals(new int[] { pair02, pair03 }, index.pairsOfPitcher(0));
+		assertArrayEquals(new int[] { pair12 }, index.pairsOfPitcher(1));
+		assertArrayEquals(new int[] { pair02, pair12 }, index.pairsOfBatter(2));
+		assertArrayEquals(new int[0], index.pairsOfBatter(0));
+	}
+
+	@Test
+	void rowsAreOrderedByGameDateWithinPair() {
+		MatchupPrefixIndex index = index();
+		int pair = index.pair(0, 2);
+		int from = index.lowerBound(pair, 0);
+		int to = index.upperBound(pair, Integer.MAX_VALUE);
+
+		assertEquals(4, to - from);
+		// 同じ試合日は行番号の順
+		assertArrayEquals(new int[] { 0, 3, 1, 5 },
+				new int[] { index.rowAt(from), index.rowAt(from + 1), index.rowAt(from + 2), index.rowAt(from + 3) });
+	}
+
+	@Test
+	void sumReturnsCountsWithinDateRange() {
+		MatchupPrefixIndex index = index();
+		int pair = index.pair(0, 2);
+
+		StatLine all = index.sum(pair, index.lowerBound(pair, 0), index.upperBound(pair, Integer.MAX_VALUE));
+		assertEquals(1, all.getSinglesNumber());
+		assertEquals(1, all.getHomeRun());
+		assertEquals(1, all.getStrikeoutsNumber());
+		assertEquals(1, all.getFourBallNumber());
+		assertEquals(4, all.getAtBatNumber());
+
+		// 先頭を含まない期間
+		StatLine fromApril5 = index.sum(pair, index.lowerBound(pair, 20240405), index.upperBound(pair, 20240410));
+		assertEquals(0, fromApril5.getSinglesNumber());
+		assertEquals(1, fromApril5.getHomeRun());
+		assertEquals(3, fromApril5.getAtBatNumber());
+
+		// 途中の1日のみ
+		StatLine april5 = index.sum(pair, index.lowerBound(pair, 20240405), index.upperBound(pair, 20240405));
+		assertEquals(1, april5.getHomeRun());
+		assertEquals(1, april5.getAtBatNumber());
+	}
+
+	@Test
+	void emptyAndInvertedRangesHaveNoPositions() {
+		MatchupPrefixIndex index = index();
+		int pair = index.pair(0, 2);
+
+		// 打席のない日
+		assertEquals(index.lowerBound(pair, 20240402), index.upperBound(pair, 20240404));
+		// 開始日が終了日より後
+		assertTrue(index.lowerBound(pair, 20240410) > index.upperBound(pair, 20240401));
+	}
+
+	@Test
+	void detectsTeamChangesWithinPair() {
+		MatchupPrefixIndex index = index();
+
+		assertTrue(index.hasMultipleTeams(index.pair(0, 2)));
+		assertFalse(index.hasMultipleTeams(index.pair(1, 2)));
+		assertFalse(index.hasMultipleTeams(index.pair(0, 3)));
+	}
+}
@@ -0,0 +1,106 @@
+package com.example.baseball.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.baseball.service.VAtBatGameDetailsService.ConditionalQuery;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * 対戦成績検索のSQLが指定された条件のみを含み、インデックスを使用することを確認する
+ */
+@SpringBootTest
+class VAtBatGameDetailsServiceTests {
+
+	private static final String SELECT = "SELECT vag.* FROM V_AT_BAT_GAME_DETAILS vag";
+
+	// EXPLAIN の列位置（table, possible_keys, key）
+	private static final int EXPLAIN_TABLE = 2;
+	private static final int EXPLAIN_POSSIBLE_KEYS = 5;
+	private static final int EXPLAIN_KEY = 6;
+
+	@Autowired
+	private VAtBatGameDetailsService vAtBatGameDetailsService;
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Test
+	void omitsConditionsThatAreNotSpecified() {
+		ConditionalQuery query = vAtBatGameDetailsService.buildMatchResultQuery(SELECT, 0L, 0L, 1L, null, "通算");
+
+		assertEquals(SELECT + " WHERE vag.PITCHER_ID = :pitcherId", query.getSql());
+		assertEquals(1, query.getParameters().size());
+	}
+
+	@Test
+	void selectedYearBecomesGameDateRange() {
+		ConditionalQuery query = vAtBatGameDetailsService.buildMatchResultQuery(SELECT, 1L, null, null, null, "2024");
+
+		assertEquals(SELECT + " WHERE vag.PITCHER_TEAM_ID = :pitcherTeamId"
+				+ " AND vag.GAME_DATE >= :fromDate AND vag.GAME_DATE < :toDate", query.getSql());
+		assertFalse(query.getSql().contains("STR_TO_DATE"));
+	}
+
+	@Test
+	void pitcherSearchUsesPitcherBatterIndex() {
+		List<Object[]> plan = explain(vAtBatGameDetailsService.buildMatchResultQuery(SELECT, 0L, 0L, 1L, null, "2024"));
+
+		assertTrue(usesKey(plan, "IDX_AT_BAT_RESULT_PITCHER_BATTER"), describe(plan));
+	}
+
+	@Test
+	void batterSearchUsesBatterPitcherIndex() {
+		List<Object[]> plan = explain(vAtBatGameDetailsService.buildMatchResultQuery(SELECT, 0L, 0L, null, 1L, "2024"));
+
+		assertTrue(usesKey(plan, "IDX_AT_BAT_RESULT_BATTER_PITCHER"), describe(plan));
+	}
+
+	@Test
+	void pairSearchUsesCompositeIndex() {
+		List<Object[]> plan = explain(vAtBatGameDetailsService.buildMatchResultQuery(SELECT, 0L, 0L, 1L, 2L, "通算"));
+
+		assertTrue(usesKey(plan, "IDX_AT_BAT_RESULT_PITCHER_BATTER") || usesKey(plan, "IDX_AT_BAT_RESULT_BATTER_PITCHER"),
+				describe(plan));
+	}
+
+	@Test
+	void seasonSearchConsidersGameDateIndex() {
+		List<Object[]> plan = explain(vAtBatGameDetailsService.buildMatchResultQuery(SELECT, 1L, 2L, null, null, "2024"));
+
+		// 1年分の範囲はオプティマイザが全件走査を選ぶ場合もあるため、候補になっていることのみ確認する
+		assertTrue(plan.stream().anyMatch(row -> contains(row[EXPLAIN_POSSIBLE_KEYS], "IDX_BASEBALL_GAME_GAME_DATE")),
+				describe(plan));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Object[]> explain(ConditionalQuery query) {
+		return query.bind(entityManager.createNativeQuery("EXPLAIN " + query.getSql())).getResultList();
+	}
+
+	private static boolean usesKey(List<Object[]> plan, String indexName) {
+		return plan.stream().anyMatch(row -> indexName.equals(row[EXPLAIN_KEY]));
+	}
+
+	private static boolean contains(Object value, String indexName) {
+		return value != null && value.toString().contains(indexName);
+	}
+
+	private static String describe(List<Object[]> plan) {
+		StringBuilder sb = new StringBuilder("EXPLAIN:");
+		for (Object[] row : plan) {
+			sb.append(System.lineSeparator())
+					.append(row[EXPLAIN_TABLE]).append(" key=").append(row[EXPLAIN_KEY])
+					.append(" possible_keys=").append(row[EXPLAIN_POSSIBLE_KEYS]);
+		}
+		return sb.toString();
+	}
+}